@@ -1,5 +1,6 @@
 package io.a2a.poc.agents.idea.agent;
 
+import io.a2a.poc.agents.idea.util.SkillDeadline;
 import io.a2a.receptionist.model.A2AAgent;
 import io.a2a.receptionist.model.A2AAgentSkill;
 import org.springframework.ai.chat.client.ChatClient;
@@ -33,7 +34,8 @@ public class HumanAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public reactor.core.publisher.Mono<String> executiveReview(String finalPresentation) {
+    public reactor.core.publisher.Mono<String> executiveReview(String finalPresentationInput) {
+        String finalPresentation = SkillDeadline.strip(finalPresentationInput);
         log.info("Conducting executive review with AI");
 
         String prompt = String.format("""
@@ -107,7 +109,7 @@ public class HumanAgent {
             Format your response as: EXECUTIVE_REVIEW: [your comprehensive executive assessment]
             """, finalPresentation);
 
-        return reactor.core.publisher.Mono.fromCallable(() -> {
+        return SkillDeadline.bound(finalPresentationInput, reactor.core.publisher.Mono.fromCallable(() -> {
             String review = chatClient.prompt()
                 .user(prompt)
                 .call()
@@ -116,7 +118,7 @@ public class HumanAgent {
         }).onErrorResume(e -> {
             log.error("Error conducting executive review with AI", e);
             return reactor.core.publisher.Mono.just("EXECUTIVE_REVIEW_ERROR: Failed to conduct review - " + e.getMessage());
-        });
+        }));
     }
 
     @A2AAgentSkill(
@@ -128,7 +130,8 @@ public class HumanAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public reactor.core.publisher.Mono<String> finalApprovalDecision(String executiveReview, String fullAnalysis) {
+    public reactor.core.publisher.Mono<String> finalApprovalDecision(String executiveReviewInput, String fullAnalysis) {
+        String executiveReview = SkillDeadline.strip(executiveReviewInput);
         log.info("Making final approval decision with AI");
 
         String prompt = String.format("""
@@ -200,7 +203,7 @@ public class HumanAgent {
             Format your response as: FINAL_DECISION: [your complete decision and guidance]
             """, executiveReview, fullAnalysis);
 
-        return reactor.core.publisher.Mono.fromCallable(() -> {
+        return SkillDeadline.bound(executiveReviewInput, reactor.core.publisher.Mono.fromCallable(() -> {
             String decision = chatClient.prompt()
                 .user(prompt)
                 .call()
@@ -209,7 +212,7 @@ public class HumanAgent {
         }).onErrorResume(e -> {
             log.error("Error making final approval decision with AI", e);
             return reactor.core.publisher.Mono.just("FINAL_DECISION_ERROR: Failed to make decision - " + e.getMessage());
-        });
+        }));
     }
 
     @A2AAgentSkill(
@@ -221,7 +224,8 @@ public class HumanAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public reactor.core.publisher.Mono<String> strategicImplementationGuidance(String approvalDecision) {
+    public reactor.core.publisher.Mono<String> strategicImplementationGuidance(String approvalDecisionInput) {
+        String approvalDecision = SkillDeadline.strip(approvalDecisionInput);
         log.info("Providing strategic implementation guidance with AI");
 
         String prompt = String.format("""
@@ -297,7 +301,7 @@ public class HumanAgent {
             Format your response as: STRATEGIC_GUIDANCE: [your comprehensive implementation strategy]
             """, approvalDecision);
 
-        return reactor.core.publisher.Mono.fromCallable(() -> {
+        return SkillDeadline.bound(approvalDecisionInput, reactor.core.publisher.Mono.fromCallable(() -> {
             String guidance = chatClient.prompt()
                 .user(prompt)
                 .call()
@@ -306,6 +310,6 @@ public class HumanAgent {
         }).onErrorResume(e -> {
             log.error("Error providing strategic implementation guidance with AI", e);
             return reactor.core.publisher.Mono.just("GUIDANCE_ERROR: Failed to provide guidance - " + e.getMessage());
-        });
+        }));
     }
 }
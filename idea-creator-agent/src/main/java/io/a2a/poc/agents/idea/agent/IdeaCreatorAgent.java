@@ -1,5 +1,6 @@
 package io.a2a.poc.agents.idea.agent;
 
+import io.a2a.poc.agents.idea.util.SkillDeadline;
 import io.a2a.receptionist.model.A2AAgent;
 import io.a2a.receptionist.model.A2AAgentSkill;
 import org.springframework.ai.chat.client.ChatClient;
@@ -33,8 +34,9 @@ public class IdeaCreatorAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public java.util.concurrent.CompletableFuture<String> analyzeLegislation(String legislationText) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> analyzeLegislation(String legislationTextInput) {
+        String legislationText = SkillDeadline.strip(legislationTextInput);
+        return SkillDeadline.supplyAsync(legislationTextInput, () -> {
             try {
                 log.info("Analyzing legislation with AI: {}", legislationText.substring(0, Math.min(100, legislationText.length())));
                 
@@ -1,5 +1,6 @@
 package io.a2a.poc.agents.idea.agent;
 
+import io.a2a.poc.agents.idea.util.SkillDeadline;
 import io.a2a.receptionist.model.A2AAgent;
 import io.a2a.receptionist.model.A2AAgentSkill;
 import org.springframework.ai.chat.client.ChatClient;
@@ -33,8 +34,9 @@ public class IdeaCriticAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public java.util.concurrent.CompletableFuture<String> comprehensiveProductCritique(String productIdea) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> comprehensiveProductCritique(String productIdeaInput) {
+        String productIdea = SkillDeadline.strip(productIdeaInput);
+        return SkillDeadline.supplyAsync(productIdeaInput, () -> {
             try {
                 log.info("Performing comprehensive product critique with AI for: {}", 
                         productIdea.substring(0, Math.min(100, productIdea.length())));
@@ -128,8 +130,9 @@ public class IdeaCriticAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public java.util.concurrent.CompletableFuture<String> competitiveAnalysis(String productIdea) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> competitiveAnalysis(String productIdeaInput) {
+        String productIdea = SkillDeadline.strip(productIdeaInput);
+        return SkillDeadline.supplyAsync(productIdeaInput, () -> {
             try {
                 log.info("Performing competitive analysis with AI for: {}", 
                         productIdea.substring(0, Math.min(100, productIdea.length())));
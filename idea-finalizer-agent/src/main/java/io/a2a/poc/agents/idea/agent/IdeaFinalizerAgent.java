@@ -1,5 +1,6 @@
 package io.a2a.poc.agents.idea.agent;
 
+import io.a2a.poc.agents.idea.util.SkillDeadline;
 import io.a2a.receptionist.model.A2AAgent;
 import io.a2a.receptionist.model.A2AAgentSkill;
 import org.springframework.ai.chat.client.ChatClient;
@@ -36,8 +37,9 @@ public class IdeaFinalizerAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public java.util.concurrent.CompletableFuture<String> synthesizeAllFeedback(String allFeedback) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> synthesizeAllFeedback(String allFeedbackInput) {
+        String allFeedback = SkillDeadline.strip(allFeedbackInput);
+        return SkillDeadline.supplyAsync(allFeedbackInput, () -> {
             try {
                 log.info("Synthesizing all feedback with AI, iteration: {}", iterationCount.get());
                 
@@ -118,8 +120,9 @@ public class IdeaFinalizerAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public java.util.concurrent.CompletableFuture<String> makeStrategicDecision(String synthesizedFeedback) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> makeStrategicDecision(String synthesizedFeedbackInput) {
+        String synthesizedFeedback = SkillDeadline.strip(synthesizedFeedbackInput);
+        return SkillDeadline.supplyAsync(synthesizedFeedbackInput, () -> {
             try {
                 int currentIteration = iterationCount.get();
                 log.info("Making strategic decision with AI at iteration: {}", currentIteration);
@@ -193,8 +196,9 @@ public class IdeaFinalizerAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public java.util.concurrent.CompletableFuture<String> refineProductWithAI(String originalIdea, String improvementGuidance) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> refineProductWithAI(String originalIdeaInput, String improvementGuidance) {
+        String originalIdea = SkillDeadline.strip(originalIdeaInput);
+        return SkillDeadline.supplyAsync(originalIdeaInput, () -> {
             try {
                 log.info("Refining product idea with AI based on guidance");
                 
@@ -267,8 +271,9 @@ public class IdeaFinalizerAgent {
         inputModes = {"text"},
         outputModes = {"text"}
     )
-    public java.util.concurrent.CompletableFuture<String> createFinalPresentation(String finalProductIdea, String developmentJourney) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> createFinalPresentation(String finalProductIdeaInput, String developmentJourney) {
+        String finalProductIdea = SkillDeadline.strip(finalProductIdeaInput);
+        return SkillDeadline.supplyAsync(finalProductIdeaInput, () -> {
             try {
                 log.info("Creating final presentation with AI for human approval");
                 
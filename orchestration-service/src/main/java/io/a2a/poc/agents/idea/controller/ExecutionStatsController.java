@@ -0,0 +1,125 @@
+package io.a2a.poc.agents.idea.controller;
+
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.a2a.poc.agents.idea.service.AgentBulkheads;
+import io.a2a.poc.agents.idea.service.AgentCircuitBreakers;
+import io.a2a.poc.agents.idea.service.AgentHealthTracker;
+import io.a2a.poc.agents.idea.service.ContextCompactor;
+import io.a2a.poc.agents.idea.service.MetadataExtractionService;
+import io.a2a.poc.agents.idea.service.PlanTemplateCache;
+import io.a2a.poc.agents.idea.service.RuleBasedPlanner;
+import io.a2a.poc.agents.idea.service.SkillDiscoveryCache;
+import io.a2a.poc.agents.idea.service.SkillHedging;
+import io.a2a.poc.agents.idea.service.StepScheduler;
+import io.a2a.poc.agents.idea.service.StepResultCache;
+import io.a2a.poc.agents.idea.util.PlannerService;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/execution")
+@RequiredArgsConstructor
+public class ExecutionStatsController {
+
+    private final AgentBulkheads bulkheads;
+    private final StepResultCache stepResultCache;
+    private final SkillHedging hedging;
+    private final AgentCircuitBreakers breakers;
+    private final AgentHealthTracker agentHealth;
+    private final ContextCompactor contextCompactor;
+    private final StepScheduler stepScheduler;
+    private final MetadataExtractionService metadataExtraction;
+    private final PlanTemplateCache planCache;
+    private final RuleBasedPlanner rulePlanner;
+    private final PlannerService plannerService;
+    private final SkillDiscoveryCache discoveryCache;
+
+    @GetMapping(value = "/bulkheads", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Map<String, Object>> bulkheads() {
+        return bulkheads.snapshot();
+    }
+
+    @GetMapping(value = "/step-cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stepCache() {
+        return stepResultCache.stats();
+    }
+
+    @DeleteMapping("/step-cache")
+    public Mono<ResponseEntity<Void>> clearStepCache() {
+        return stepResultCache.clear()
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    @GetMapping(value = "/hedging", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> hedging() {
+        return hedging.stats();
+    }
+
+    @GetMapping(value = "/breakers", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Map<String, Object>> breakers() {
+        return breakers.snapshot();
+    }
+
+    @GetMapping(value = "/agent-health", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Map<String, Object>> agentHealth() {
+        return agentHealth.snapshot();
+    }
+
+    @GetMapping(value = "/compaction", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> compaction() {
+        return contextCompactor.stats();
+    }
+
+    @GetMapping(value = "/metadata-cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> metadataCache() {
+        return metadataExtraction.stats();
+    }
+
+    @GetMapping(value = "/plan-cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> planCache() {
+        return planCache.stats();
+    }
+
+    @DeleteMapping("/plan-cache")
+    public ResponseEntity<Void> clearPlanCache() {
+        planCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/rule-planner", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> rulePlanner() {
+        return rulePlanner.stats();
+    }
+
+    @GetMapping(value = "/llm-json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> llmJson() {
+        return plannerService.jsonParseStats();
+    }
+
+    @GetMapping(value = "/discovery-cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> discoveryCache() {
+        return discoveryCache.stats();
+    }
+
+    @DeleteMapping("/discovery-cache")
+    public ResponseEntity<Void> invalidateDiscoveryCache() {
+        discoveryCache.invalidate();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping(value = "/scheduler", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> scheduler() {
+        return Map.of(
+                "runningSteps", stepScheduler.runningSteps(),
+                "queuedSteps", stepScheduler.queuedSteps(),
+                "tenants", stepScheduler.tenantStats());
+    }
+}
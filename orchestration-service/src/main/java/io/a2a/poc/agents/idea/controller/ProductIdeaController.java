@@ -1,46 +1,269 @@
 package io.a2a.poc.agents.idea.controller;
 
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import io.a2a.poc.agents.idea.service.BatchOrchestrationService;
+import io.a2a.poc.agents.idea.service.OrchestrationEventPublisher;
+import io.a2a.poc.agents.idea.service.OrchestrationJobService;
 import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator;
+import io.a2a.poc.agents.idea.service.model.BatchOrchestrationResult;
+import io.a2a.poc.agents.idea.service.model.OrchestrationEvent;
+import io.a2a.poc.agents.idea.service.model.OrchestrationJob;
+import io.a2a.poc.agents.idea.util.OrchestrationContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
 @RequiredArgsConstructor
 @Slf4j
 public class ProductIdeaController {
+
+    private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    /** Overall time budget of the request in milliseconds */
+    private static final String DEADLINE_HEADER = "X-Deadline-Ms";
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+    private static final String TENANT_WEIGHT_HEADER = "X-Tenant-Weight";
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
     
     private final ProductIdeaWorkflowOrchestrator orchestrator;
+    private final OrchestrationEventPublisher eventPublisher;
+    private final OrchestrationJobService jobService;
+    private final BatchOrchestrationService batchService;
+
+    /** Applied when the client sends no deadline; 0 means none */
+    @Value("${app.orchestration.deadline.default-ms:0}")
+    private long defaultDeadlineMs;
     
     @PostMapping(value = "/api/product-ideas/orchestrate", 
                  produces = MediaType.TEXT_PLAIN_VALUE)
-    public Mono<ResponseEntity<String>> orchestrateProductDevelopment(@RequestBody String idea) {
+    public Mono<ResponseEntity<String>> orchestrateProductDevelopment(@RequestBody String idea,
+            @RequestHeader HttpHeaders headers) {
         String correlationId = generateCorrelationId();
         log.info("[{}] Received product development request", correlationId);
 
-        return orchestrator.orchestrateProductDevelopment(idea)
+        return toResponse(withRequestContext(orchestrator.orchestrateProductDevelopment(idea, correlationId), headers),
+                correlationId);
+    }
+
+    /**
+     * Resumes an interrupted orchestration from its journal; only steps not yet completed are executed.
+     */
+    @PostMapping(value = "/api/product-ideas/orchestrate/{correlationId}/resume",
+                 produces = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<String>> resumeProductDevelopment(@PathVariable("correlationId") String correlationId,
+            @RequestHeader HttpHeaders headers) {
+        log.info("[{}] Received resume request", correlationId);
+
+        return toResponse(withRequestContext(orchestrator.resumeProductDevelopment(correlationId), headers),
+                correlationId);
+    }
+
+    /**
+     * Carries request-level settings in the Reactor context: the absolute deadline (steps and LLM calls
+     * that would end after it are cut short or skipped, whatever completed in time is returned) and the
+     * tenant and weight used for fair step scheduling. The headers are validated before anything starts,
+     * a malformed one is answered with 400.
+     */
+    private <T> Mono<T> withRequestContext(Mono<T> orchestration, HttpHeaders headers) {
+        long budget = deadlineBudget(headers.getFirst(DEADLINE_HEADER));
+        long deadline = System.currentTimeMillis() + budget;
+        String tenant = tenantId(headers.getFirst(TENANT_HEADER));
+        Double weight = tenantWeight(headers.getFirst(TENANT_WEIGHT_HEADER));
+
+        return orchestration.contextWrite(context -> {
+            if (budget > 0) {
+                context = OrchestrationContext.withDeadline(context, deadline);
+            }
+            if (tenant != null) {
+                context = context.put(OrchestrationContext.TENANT, tenant);
+            }
+            if (weight != null) {
+                context = context.put(OrchestrationContext.TENANT_WEIGHT, weight);
+            }
+            return context;
+        });
+    }
+
+    private long deadlineBudget(String header) {
+        if (header == null || header.isBlank()) {
+            return defaultDeadlineMs;
+        }
+        try {
+            long budget = Long.parseLong(header.trim());
+            if (budget >= 0) {
+                return budget;
+            }
+        } catch (NumberFormatException e) {
+            // answered below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                DEADLINE_HEADER + " must be a non-negative number of milliseconds");
+    }
+
+    // Tenants get their own scheduler queue, so ids are restricted to short plain names
+    private static String tenantId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        String tenant = header.trim();
+        if (!TENANT_PATTERN.matcher(tenant).matches()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    TENANT_HEADER + " must be 1-64 letters, digits, '.', '_' or '-'");
+        }
+        return tenant;
+    }
+
+    private static Double tenantWeight(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            double weight = Double.parseDouble(header.trim());
+            if (Double.isFinite(weight) && weight > 0) {
+                return weight;
+            }
+        } catch (NumberFormatException e) {
+            // answered below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                TENANT_WEIGHT_HEADER + " must be a finite positive number");
+    }
+
+    private Mono<ResponseEntity<String>> toResponse(Mono<String> orchestration, String correlationId) {
+        return orchestration
                 .map(result -> {
                     log.info("[{}] Successfully completed product development orchestration", correlationId);
                     return ResponseEntity.ok()
+                            .header(CORRELATION_ID_HEADER, correlationId)
                             .contentType(MediaType.TEXT_PLAIN)
                             .body(result);
                 })
                 .onErrorResume(error -> {
                     log.error("[{}] Product development orchestration failed", correlationId, error);
-                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    HttpStatus status = error instanceof ProductIdeaWorkflowOrchestrator.ResumeInProgressException
+                            ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR;
+                    return Mono.just(ResponseEntity.status(status)
+                            .header(CORRELATION_ID_HEADER, correlationId)
                             .contentType(MediaType.TEXT_PLAIN)
                             .body("Orchestration failed: " + error.getMessage()));
                 });
     }
     
+    /**
+     * Streaming variant: emits extracted metadata, the chosen plan and per-step progress as soon as they
+     * exist, as Server-Sent Events or NDJSON depending on the Accept header.
+     */
+    @PostMapping(value = "/api/product-ideas/orchestrate/stream",
+                 produces = { MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<OrchestrationEvent> orchestrateProductDevelopmentStream(@RequestBody String idea,
+            @RequestHeader HttpHeaders headers) {
+        String correlationId = generateCorrelationId();
+        log.info("[{}] Received streaming product development request", correlationId);
+
+        Flux<OrchestrationEvent> events = eventPublisher.open(correlationId);
+        // The workflow runs as part of the response: a client disconnect cancels it
+        Mono<Void> workflow = withRequestContext(orchestrator.orchestrateProductDevelopment(idea, correlationId), headers)
+                .onErrorResume(error -> {
+                    log.error("[{}] Streaming product development orchestration failed", correlationId, error);
+                    return Mono.empty();
+                })
+                .then();
+        return Flux.merge(events, workflow.then(Mono.empty()));
+    }
+
+    /**
+     * Asynchronous variant: starts the orchestration and answers immediately with the job id. Progress and
+     * partial step results are polled via GET /api/product-ideas/jobs/{jobId}.
+     */
+    @PostMapping(value = "/api/product-ideas/jobs",
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<OrchestrationJob> submitProductDevelopmentJob(@RequestBody String idea,
+            @RequestHeader HttpHeaders headers) {
+        String jobId = generateCorrelationId();
+        log.info("[{}] Received product development job", jobId);
+
+        OrchestrationJob job = jobService.submit(jobId,
+                withRequestContext(orchestrator.orchestrateProductDevelopment(idea, jobId), headers));
+        return ResponseEntity.accepted()
+                .location(java.net.URI.create("/api/product-ideas/jobs/" + jobId))
+                .header(CORRELATION_ID_HEADER, jobId)
+                .body(job);
+    }
+
+    @GetMapping(value = "/api/product-ideas/jobs/{jobId}",
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<OrchestrationJob> getProductDevelopmentJob(@PathVariable("jobId") String jobId) {
+        return jobService.find(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Final consolidated text of a job: 200 when completed, 202 while it is still running.
+     */
+    @GetMapping(value = "/api/product-ideas/jobs/{jobId}/result",
+                produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getProductDevelopmentJobResult(@PathVariable("jobId") String jobId) {
+        return jobService.find(jobId)
+                .map(job -> switch (job.status()) {
+                    case COMPLETED -> ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(job.result());
+                    case FAILED -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .body("Orchestration failed: " + job.error());
+                    case CANCELLED -> ResponseEntity.status(HttpStatus.CONFLICT)
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .body("Job " + jobId + " was cancelled");
+                    default -> ResponseEntity.accepted()
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .body("Job " + jobId + " is " + job.status());
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/api/product-ideas/jobs/{jobId}")
+    public ResponseEntity<Void> cancelProductDevelopmentJob(@PathVariable("jobId") String jobId) {
+        return jobService.cancel(jobId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Orchestrates a JSON array of documents as one batch; documents run concurrently up to the configured
+     * limit and share discovery results where their tags match.
+     */
+    @PostMapping(value = "/api/product-ideas/batch",
+                 consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BatchOrchestrationResult>> orchestrateBatch(@RequestBody java.util.List<String> documents,
+            @RequestHeader HttpHeaders headers) {
+        String batchId = generateCorrelationId();
+        log.info("[{}] Received batch of {} documents", batchId, documents.size());
+
+        return withRequestContext(batchService.orchestrate(batchId, documents), headers)
+                .map(result -> ResponseEntity.ok()
+                        .header(CORRELATION_ID_HEADER, batchId)
+                        .body(result))
+                .onErrorResume(IllegalArgumentException.class, error ->
+                        Mono.just(ResponseEntity.badRequest().header(CORRELATION_ID_HEADER, batchId).build()));
+    }
+
     private String generateCorrelationId() {
-        return java.util.UUID.randomUUID().toString().substring(0, 8);
+        return java.util.UUID.randomUUID().toString();
     }
 }
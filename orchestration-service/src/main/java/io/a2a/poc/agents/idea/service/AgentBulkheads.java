@@ -0,0 +1,293 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.util.OrchestrationContext;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Per-agent and per-skill concurrency limits for outgoing skill invocations, each with a bounded
+ * wait queue. When a queue is full, or overflow is REJECT, the call fails fast with
+ * {@link BulkheadFullException}; in WAIT mode it waits for a permit as long as the step would be
+ * allowed to run (its timeout), never past the orchestration deadline, and at most max-wait when set.
+ */
+@Component
+@Slf4j
+public class AgentBulkheads {
+
+    public enum Overflow {
+        REJECT, WAIT
+    }
+
+    @Value("${app.orchestration.bulkhead.agent.max-concurrent:4}")
+    private int agentMaxConcurrent = 4;
+
+    /** Per-agent overrides, e.g. "IdeaCriticAgent=2,RiskEstimatorAgent=6" */
+    @Value("${app.orchestration.bulkhead.agent.limits:}")
+    private String agentLimits = "";
+
+    /** 0 disables the per-skill limit */
+    @Value("${app.orchestration.bulkhead.skill.max-concurrent:0}")
+    private int skillMaxConcurrent = 0;
+
+    @Value("${app.orchestration.bulkhead.max-queue:32}")
+    private int maxQueue = 32;
+
+    @Value("${app.orchestration.bulkhead.overflow:WAIT}")
+    private String overflow = "WAIT";
+
+    /** Fixed cap on the wait for a permit; 0 leaves it to the step timeout and the deadline */
+    @Value("${app.orchestration.bulkhead.max-wait-ms:0}")
+    private long maxWaitMs = 0;
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private Overflow overflowMode = Overflow.WAIT;
+    private Map<String, Integer> agentLimitsByName = Map.of();
+
+    // Malformed settings fail at startup rather than inside a running step
+    @PostConstruct
+    void init() {
+        try {
+            overflowMode = Overflow.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid app.orchestration.bulkhead.overflow: " + overflow, e);
+        }
+        agentLimitsByName = parseAgentLimits(agentLimits);
+    }
+
+    /**
+     * Runs the work while holding a permit of the agent bulkhead and, if enabled, the skill bulkhead;
+     * each permit is waited for at most maxWait.
+     */
+    public <T> Mono<T> withPermits(String agentName, String skillId, Duration maxWait, Supplier<Mono<T>> work) {
+        Mono<T> guarded = Mono.defer(work);
+        if (skillMaxConcurrent > 0) {
+            guarded = guard("skill:" + agentName + ":" + skillId, skillMaxConcurrent, maxWait, guarded);
+        }
+        return guard("agent:" + agentName, agentLimit(agentName), maxWait, guarded);
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        return bulkheads.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stats(),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private <T> Mono<T> guard(String key, int limit, Duration maxWait, Mono<T> work) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(key, k -> new Bulkhead(k, limit));
+        return Mono.usingWhen(bulkhead.acquire(maxWait), permit -> work, Permit::releaseAsync);
+    }
+
+    private int agentLimit(String agentName) {
+        return agentLimitsByName.getOrDefault(agentName, agentMaxConcurrent);
+    }
+
+    private static Map<String, Integer> parseAgentLimits(String limits) {
+        Map<String, Integer> parsed = new HashMap<>();
+        if (limits == null || limits.isBlank()) {
+            return parsed;
+        }
+        for (String entry : limits.split(",")) {
+            String[] pair = entry.split("=");
+            int limit = pair.length == 2 ? parseLimit(pair[1].trim()) : 0;
+            if (limit < 1 || pair[0].isBlank()) {
+                throw new IllegalStateException("Invalid app.orchestration.bulkhead.agent.limits entry: " + entry.trim());
+            }
+            parsed.put(pair[0].trim(), limit);
+        }
+        return parsed;
+    }
+
+    private static int parseLimit(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public static class BulkheadFullException extends RuntimeException {
+        public BulkheadFullException(String message) {
+            super(message);
+        }
+    }
+
+    private final class Bulkhead {
+        private final String key;
+        private final int limit;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int inUse;
+
+        private final AtomicLong acquired = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private final AtomicLong totalQueueMs = new AtomicLong();
+        private final AtomicLong maxQueueMs = new AtomicLong();
+        private final AtomicInteger queued = new AtomicInteger();
+
+        Bulkhead(String key, int limit) {
+            this.key = key;
+            this.limit = Math.max(1, limit);
+        }
+
+        Mono<Permit> acquire(Duration maxWait) {
+            Mono<Permit> permit = Mono.create(sink -> {
+                Waiter waiter = new Waiter(sink);
+                sink.onCancel(waiter::cancel);
+                String rejection = null;
+                synchronized (this) {
+                    if (inUse < limit) {
+                        inUse++;
+                    } else if (overflowMode == Overflow.REJECT || waiters.size() >= maxQueue) {
+                        rejection = String.format("Bulkhead %s is full (%d in flight, %d queued)",
+                                key, inUse, waiters.size());
+                    } else {
+                        waiters.addLast(waiter);
+                        queued.incrementAndGet();
+                        return;
+                    }
+                }
+                if (rejection != null) {
+                    rejected.incrementAndGet();
+                    sink.error(new BulkheadFullException(rejection));
+                } else {
+                    waiter.grant();
+                }
+            });
+            return Mono.deferContextual(context -> {
+                Duration wait = maxWaitMs > 0 && maxWaitMs < maxWait.toMillis() ? Duration.ofMillis(maxWaitMs) : maxWait;
+                Duration bounded = OrchestrationContext.clip(wait, context);
+                boolean deadlineBound = bounded.compareTo(wait) < 0;
+                return permit.timeout(bounded, Mono.defer(() -> {
+                    timedOut.incrementAndGet();
+                    return Mono.error(deadlineBound
+                            ? new OrchestrationContext.DeadlineExceededException(String.format(
+                                    "Bulkhead %s: orchestration deadline passed while waiting for a permit", key))
+                            : new BulkheadFullException(String.format(
+                                    "Bulkhead %s: no permit within %d ms", key, bounded.toMillis())));
+                }));
+            });
+        }
+
+        void release() {
+            Waiter next;
+            synchronized (this) {
+                do {
+                    next = waiters.pollFirst();
+                    if (next != null) {
+                        queued.decrementAndGet();
+                    }
+                } while (next != null && next.isCancelled());
+                if (next == null) {
+                    inUse--;
+                    return;
+                }
+            }
+            // Permit is handed over directly, inUse stays the same
+            next.grant();
+        }
+
+        synchronized Map<String, Object> stats() {
+            long count = acquired.get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("limit", limit);
+            stats.put("inFlight", inUse);
+            stats.put("queued", queued.get());
+            stats.put("acquired", count);
+            stats.put("rejected", rejected.get());
+            stats.put("timedOut", timedOut.get());
+            stats.put("avgQueueMs", count == 0 ? 0 : totalQueueMs.get() / count);
+            stats.put("maxQueueMs", maxQueueMs.get());
+            return stats;
+        }
+
+        /**
+         * A queued acquisition. Grant and cancel race (a permit is handed over while the caller gives
+         * up); the state moves from WAITING exactly once, so the permit is released exactly once.
+         */
+        private final class Waiter {
+            private static final int WAITING = 0;
+            private static final int GRANTED = 1;
+            private static final int CANCELLED = 2;
+
+            private final MonoSink<Permit> sink;
+            private final long enqueuedAt = System.currentTimeMillis();
+            private final AtomicInteger state = new AtomicInteger(WAITING);
+            private final Permit permit = new Permit(Bulkhead.this);
+
+            Waiter(MonoSink<Permit> sink) {
+                this.sink = sink;
+            }
+
+            boolean isCancelled() {
+                return state.get() == CANCELLED;
+            }
+
+            void grant() {
+                if (!state.compareAndSet(WAITING, GRANTED)) {
+                    // Cancelled meanwhile: pass the permit on
+                    release();
+                    return;
+                }
+                long waitedMs = System.currentTimeMillis() - enqueuedAt;
+                acquired.incrementAndGet();
+                totalQueueMs.addAndGet(waitedMs);
+                maxQueueMs.accumulateAndGet(waitedMs, Math::max);
+                sink.success(permit);
+            }
+
+            void cancel() {
+                if (!state.compareAndSet(WAITING, CANCELLED)) {
+                    // Granted right before the cancellation; the caller may never see the permit
+                    permit.release();
+                    return;
+                }
+                // Leave the queue now, so abandoned waiters never count against max-queue
+                synchronized (Bulkhead.this) {
+                    if (waiters.remove(this)) {
+                        queued.decrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Permit {
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+
+        Mono<Void> releaseAsync() {
+            return Mono.fromRunnable(this::release);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One circuit breaker per agent. The breaker opens when, over the last window-size calls, the failure
+ * rate or the slow-call rate crosses its threshold. While open, calls fail fast; after open-wait it lets
+ * a few trial calls through (half-open) and closes again only if all of them succeed.
+ */
+@Component
+@Slf4j
+public class AgentCircuitBreakers {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Value("${app.orchestration.breaker.window-size:20}")
+    private int windowSize = 20;
+
+    @Value("${app.orchestration.breaker.minimum-calls:5}")
+    private int minimumCalls = 5;
+
+    @Value("${app.orchestration.breaker.failure-rate-threshold:50}")
+    private double failureRateThreshold = 50;
+
+    @Value("${app.orchestration.breaker.slow-call-ms:90000}")
+    private long slowCallMs = 90000;
+
+    @Value("${app.orchestration.breaker.slow-call-rate-threshold:80}")
+    private double slowCallRateThreshold = 80;
+
+    @Value("${app.orchestration.breaker.open-wait-ms:30000}")
+    private long openWaitMs = 30000;
+
+    @Value("${app.orchestration.breaker.half-open-calls:2}")
+    private int halfOpenCalls = 2;
+
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves a call on the agent's breaker; false means the call must not be made. Every reserved
+     * call must be finished with {@link #onSuccess}, {@link #onFailure} or {@link #onCancel}.
+     */
+    public boolean tryAcquire(String agentName, String agentUrl) {
+        return breaker(agentName, agentUrl).tryAcquire();
+    }
+
+    /**
+     * Whether a call would currently be allowed, without reserving it.
+     */
+    public boolean isCallPermitted(String agentName) {
+        Breaker breaker = breakers.get(agentName);
+        return breaker == null || breaker.isCallPermitted();
+    }
+
+    public void onSuccess(String agentName, Duration duration) {
+        breaker(agentName, null).record(false, duration.toMillis() >= slowCallMs);
+    }
+
+    public void onFailure(String agentName, Duration duration) {
+        breaker(agentName, null).record(true, duration.toMillis() >= slowCallMs);
+    }
+
+    public void onCancel(String agentName) {
+        breaker(agentName, null).releaseTrial();
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        return breakers.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stats(),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private Breaker breaker(String agentName, String agentUrl) {
+        Breaker breaker = breakers.computeIfAbsent(agentName, Breaker::new);
+        if (agentUrl != null) {
+            breaker.agentUrl = agentUrl;
+        }
+        return breaker;
+    }
+
+    public static class CallNotPermittedException extends RuntimeException {
+        public CallNotPermittedException(String message) {
+            super(message);
+        }
+    }
+
+    private final class Breaker {
+        private final String agentName;
+        private volatile String agentUrl;
+        // Ring buffer of recent outcomes
+        private final boolean[] failed = new boolean[Math.max(1, windowSize)];
+        private final boolean[] slow = new boolean[Math.max(1, windowSize)];
+        private int next;
+        private int count;
+
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int trialsInFlight;
+        private int trialSuccesses;
+
+        Breaker(String agentName) {
+            this.agentName = agentName;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openWaitMs) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialsInFlight + trialSuccesses >= halfOpenCalls) {
+                    return false;
+                }
+                trialsInFlight++;
+            }
+            return true;
+        }
+
+        synchronized boolean isCallPermitted() {
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> System.currentTimeMillis() - openedAt >= openWaitMs;
+                case HALF_OPEN -> trialsInFlight + trialSuccesses < halfOpenCalls;
+            };
+        }
+
+        synchronized void record(boolean failure, boolean slowCall) {
+            if (state == State.HALF_OPEN) {
+                trialsInFlight = Math.max(0, trialsInFlight - 1);
+                if (failure || slowCall) {
+                    open();
+                } else if (++trialSuccesses >= halfOpenCalls) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                // Late result of a call started before the breaker opened
+                return;
+            }
+            failed[next] = failure;
+            slow[next] = slowCall;
+            next = (next + 1) % failed.length;
+            count = Math.min(count + 1, failed.length);
+
+            if (count >= minimumCalls
+                    && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+                open();
+            }
+        }
+
+        synchronized void releaseTrial() {
+            if (state == State.HALF_OPEN) {
+                trialsInFlight = Math.max(0, trialsInFlight - 1);
+            }
+        }
+
+        private void open() {
+            openedAt = System.currentTimeMillis();
+            transition(State.OPEN);
+        }
+
+        private void transition(State target) {
+            log.warn("Circuit breaker for agent {} {} -> {} (failure rate {}%, slow-call rate {}%)",
+                    agentName, state, target, Math.round(failureRate()), Math.round(slowCallRate()));
+            state = target;
+            trialsInFlight = 0;
+            trialSuccesses = 0;
+            if (target == State.CLOSED) {
+                count = 0;
+                next = 0;
+            }
+        }
+
+        private double failureRate() {
+            return rate(failed);
+        }
+
+        private double slowCallRate() {
+            return rate(slow);
+        }
+
+        private double rate(boolean[] outcomes) {
+            if (count == 0) {
+                return 0;
+            }
+            int hits = 0;
+            for (int i = 0; i < count; i++) {
+                if (outcomes[i]) {
+                    hits++;
+                }
+            }
+            return 100.0 * hits / count;
+        }
+
+        synchronized Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("agentUrl", agentUrl);
+            stats.put("state", state);
+            stats.put("bufferedCalls", count);
+            stats.put("failureRate", failureRate());
+            stats.put("slowCallRate", slowCallRate());
+            if (state == State.OPEN) {
+                stats.put("retryInMs", Math.max(0, openWaitMs - (System.currentTimeMillis() - openedAt)));
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator.A2AReceptionistSkill;
+import io.a2a.poc.agents.idea.util.OrchestrationContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Live health per agent: EWMA of call latency, EWMA of the error rate (timeouts count as errors) and
+ * the number of calls in flight. Discovered skills are scored as confidence times the agent's health,
+ * so the planner is offered fast, healthy, lightly loaded agents first and sees failing ones not at all.
+ * Agents without observations are scored on confidence alone. Without new calls an agent's error rate
+ * and latency decay toward healthy (halving every recovery-half-life since its last call finished), so
+ * an agent pruned for failing is offered to the planner again once it may have recovered.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AgentHealthTracker {
+
+    private final AgentCircuitBreakers breakers;
+
+    @Value("${app.orchestration.agent-health.enabled:true}")
+    private boolean enabled = true;
+
+    /** Weight of the newest sample in both averages */
+    @Value("${app.orchestration.agent-health.ewma-alpha:0.2}")
+    private double alpha = 0.2;
+
+    /** Latency at which the latency factor halves */
+    @Value("${app.orchestration.agent-health.reference-latency-ms:30000}")
+    private long referenceLatencyMs = 30000;
+
+    /** Calls in flight at which the load factor halves */
+    @Value("${app.orchestration.agent-health.reference-in-flight:8}")
+    private int referenceInFlight = 8;
+
+    /** Time after which the error rate and latency of an agent without new calls are halved */
+    @Value("${app.orchestration.agent-health.recovery-half-life-ms:60000}")
+    private long recoveryHalfLifeMs = 60000;
+
+    /** Skills scoring below this are pruned, except the best provider of each skill id */
+    @Value("${app.orchestration.agent-health.min-score:0.05}")
+    private double minScore = 0.05;
+
+    /** Most skills handed to the planner; 0 keeps all */
+    @Value("${app.orchestration.agent-health.max-skills:40}")
+    private int maxSkills = 40;
+
+    private final Map<String, Health> agents = new ConcurrentHashMap<>();
+
+    /**
+     * Counts the call as in flight while subscribed and records its latency and outcome.
+     */
+    public <T> Mono<T> track(String agentName, Mono<T> call) {
+        if (!enabled || agentName == null) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Health health = agents.computeIfAbsent(agentName, name -> new Health());
+            health.started();
+            long started = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> health.finished(elapsedMillis(started), false))
+                    .doOnError(error -> {
+                        // A caller's deadline says nothing about the agent
+                        if (error instanceof OrchestrationContext.DeadlineExceededException) {
+                            health.cancelled();
+                        } else {
+                            health.finished(elapsedMillis(started), true);
+                        }
+                    })
+                    .doOnCancel(health::cancelled);
+        });
+    }
+
+    /**
+     * Health of the agent in 0..1: latency, error and load factors multiplied; 0 while its circuit
+     * breaker rejects calls.
+     */
+    public double health(String agentName) {
+        if (!breakers.isCallPermitted(agentName)) {
+            return 0.0;
+        }
+        Health health = agents.get(agentName);
+        return health == null ? 1.0 : health.score();
+    }
+
+    /**
+     * The skills with their score attached, best first, pruned to those worth offering the planner.
+     * The best-scoring provider of every skill id is kept even below min-score, so pruning never
+     * removes a capability from the catalog.
+     */
+    public List<A2AReceptionistSkill> rank(List<A2AReceptionistSkill> skills) {
+        if (!enabled) {
+            return skills;
+        }
+        Map<String, Double> healthByAgent = new LinkedHashMap<>();
+        List<A2AReceptionistSkill> ranked = skills.stream()
+                .map(skill -> skill.withScore((skill.confidence() == null ? 0.0 : skill.confidence())
+                        * healthByAgent.computeIfAbsent(skill.agentName(), this::health)))
+                .sorted(Comparator.comparing(A2AReceptionistSkill::score).reversed())
+                .collect(Collectors.toList());
+
+        List<A2AReceptionistSkill> kept = new ArrayList<>();
+        Set<String> providedSkills = new HashSet<>();
+        for (A2AReceptionistSkill skill : ranked) {
+            boolean firstProvider = providedSkills.add(skill.skillId());
+            if (skill.score() >= minScore || firstProvider) {
+                kept.add(skill);
+            }
+        }
+        if (maxSkills > 0 && kept.size() > maxSkills) {
+            kept = new ArrayList<>(kept.subList(0, maxSkills));
+        }
+        return kept;
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        return agents.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> {
+                    Map<String, Object> stats = entry.getValue().stats();
+                    stats.put("health", health(entry.getKey()));
+                    return stats;
+                }, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    /**
+     * Averages and in-flight count of one agent, guarded by its own monitor.
+     */
+    private final class Health {
+        private int inFlight;
+        private long calls;
+        private double latencyMs;
+        private double errorRate;
+        private long lastSampleAt;
+
+        synchronized void started() {
+            inFlight++;
+        }
+
+        synchronized void finished(long millis, boolean failed) {
+            long now = System.currentTimeMillis();
+            // The new sample is averaged into what the agent recovered to during the idle gap
+            double recovery = recovery(now);
+            inFlight = Math.max(0, inFlight - 1);
+            calls++;
+            latencyMs = calls == 1 ? millis : alpha * millis + (1 - alpha) * latencyMs * recovery;
+            errorRate = calls == 1 ? (failed ? 1.0 : 0.0)
+                    : alpha * (failed ? 1.0 : 0.0) + (1 - alpha) * errorRate * recovery;
+            lastSampleAt = now;
+        }
+
+        synchronized void cancelled() {
+            inFlight = Math.max(0, inFlight - 1);
+        }
+
+        synchronized double score() {
+            double recovery = recovery(System.currentTimeMillis());
+            double latencyFactor = calls == 0 ? 1.0 : referenceLatencyMs / (referenceLatencyMs + latencyMs * recovery);
+            double loadFactor = (double) referenceInFlight / (referenceInFlight + inFlight);
+            return latencyFactor * (1.0 - errorRate * recovery) * loadFactor;
+        }
+
+        // Share of the averages still standing after the time since the last sample; reading it changes nothing
+        private double recovery(long now) {
+            if (recoveryHalfLifeMs <= 0 || calls == 0 || now <= lastSampleAt) {
+                return 1.0;
+            }
+            return Math.pow(0.5, (double) (now - lastSampleAt) / recoveryHalfLifeMs);
+        }
+
+        synchronized Map<String, Object> stats() {
+            double recovery = recovery(System.currentTimeMillis());
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("calls", calls);
+            stats.put("inFlight", inFlight);
+            stats.put("ewmaLatencyMs", Math.round(latencyMs * recovery));
+            stats.put("errorRate", errorRate * recovery);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.a2a.poc.agents.idea.service.model.BatchOrchestrationResult;
+import io.a2a.poc.agents.idea.service.model.BatchOrchestrationResult.DocumentResult;
+import io.a2a.poc.agents.idea.util.OrchestrationContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs many documents through the full workflow (extraction, discovery, planning, execution) with a bounded
+ * number of documents in flight, so the extraction of one document overlaps the execution of others.
+ * Documents are independent: each gets its own correlation id (journal, resume, events) and a failure
+ * is reported for that document only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchOrchestrationService {
+
+    private final ProductIdeaWorkflowOrchestrator orchestrator;
+
+    @Value("${app.orchestration.batch.concurrency:4}")
+    private int concurrency = 4;
+
+    @Value("${app.orchestration.batch.max-documents:200}")
+    private int maxDocuments = 200;
+
+    /** Scheduler tenant of batch steps unless the request names one */
+    @Value("${app.orchestration.batch.tenant:batch}")
+    private String tenant = "batch";
+
+    public Mono<BatchOrchestrationResult> orchestrate(String batchId, List<String> documents) {
+        if (documents.isEmpty() || documents.size() > maxDocuments) {
+            return Mono.error(new IllegalArgumentException(String.format(
+                    "A batch must contain between 1 and %d documents, got %d", maxDocuments, documents.size())));
+        }
+        log.info("[{}] Starting batch of {} documents with concurrency {}", batchId, documents.size(), concurrency);
+
+        long started = System.currentTimeMillis();
+
+        return Flux.range(0, documents.size())
+                .flatMapSequential(index -> orchestrateDocument(batchId, index, documents.get(index)),
+                        Math.max(1, concurrency))
+                .collectList()
+                .map(results -> {
+                    long elapsedMs = Math.max(1, System.currentTimeMillis() - started);
+                    long succeeded = results.stream().filter(DocumentResult::success).count();
+                    double perHour = documents.size() * 3_600_000.0 / elapsedMs;
+                    log.info("[{}] Batch finished: {}/{} documents succeeded in {} ms ({} documents/hour)",
+                            batchId, succeeded, documents.size(), elapsedMs, Math.round(perHour));
+                    return new BatchOrchestrationResult(batchId, documents.size(), succeeded,
+                            documents.size() - succeeded, elapsedMs, perHour, results);
+                })
+                .contextWrite(context -> context.hasKey(OrchestrationContext.TENANT)
+                        ? context
+                        : context.put(OrchestrationContext.TENANT, tenant));
+    }
+
+    private Mono<DocumentResult> orchestrateDocument(String batchId, int index, String document) {
+        String correlationId = batchId + "-" + index;
+        long started = System.currentTimeMillis();
+        return orchestrator.orchestrateProductDevelopment(document, correlationId)
+                .map(result -> new DocumentResult(index, correlationId, true,
+                        System.currentTimeMillis() - started, result, null))
+                .onErrorResume(error -> {
+                    String cause = error.getCause() != null ? error.getCause().getMessage() : error.getMessage();
+                    log.warn("[{}] Batch document {} failed: {}", correlationId, index, cause);
+                    return Mono.just(new DocumentResult(index, correlationId, false,
+                            System.currentTimeMillis() - started, null, cause));
+                });
+    }
+}
@@ -1,23 +1,131 @@
 package io.a2a.poc.agents.idea.service;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import io.a2a.poc.agents.idea.util.OrchestrationContext;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
 
+/**
+ * LLM access on the streaming chat API: replies arrive as a Flux on the HTTP client's event loop, so
+ * no thread is held while the model generates and concurrent calls are not capped by a thread pool.
+ */
 @Service
+@Slf4j
 public class ChatService {
-    private final ChatClient chatClient; //Blocking, for DEMO, target Webfliux!
+    private final ChatClient chatClient;
+
+    /** Attempts per call including the first, as for the blocking client's retry template */
+    @Value("${spring.ai.openai.retry.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    /** Delay before the first retry; each further one waits multiplier times longer, up to the max delay */
+    @Value("${spring.ai.openai.retry.backoff-delay:2000}")
+    private long backoffDelayMs = 2000;
+
+    @Value("${spring.ai.openai.retry.backoff-multiplier:5}")
+    private double backoffMultiplier = 5;
+
+    @Value("${spring.ai.openai.retry.backoff-max-delay:180000}")
+    private long backoffMaxDelayMs = 180000;
 
     public ChatService(ChatClient chatClient) { this.chatClient = chatClient; }
 
+    /**
+     * The complete reply, assembled from the stream. Honours the orchestration deadline from the
+     * Reactor context: no call is made once it has passed, and a call still running at the deadline
+     * (retries included) is cancelled.
+     */
     public Mono<String> ask(String prompt) {
-        return Mono.fromCallable(() -> chatClient
+        return Mono.deferContextual(context -> {
+            if (OrchestrationContext.isExpired(context)) {
+                return Mono.error(new OrchestrationContext.DeadlineExceededException(
+                        "Orchestration deadline exceeded, LLM call skipped"));
+            }
+            Mono<String> call = Flux.defer(() -> content(prompt))
+                    .collect(StringBuilder::new, StringBuilder::append)
+                    .map(StringBuilder::toString)
+                    .retryWhen(retry(ChatService::isTransient));
+            return OrchestrationContext.remaining(context)
+                    .map(left -> call.timeout(left, Mono.error(() -> new OrchestrationContext.DeadlineExceededException(
+                            "Orchestration deadline exceeded during LLM call"))))
+                    .orElse(call);
+        });
+    }
+
+    /**
+     * Streams the reply as it is generated, under the same deadline rules as {@link #ask(String)}: each
+     * chunk re-arms the timer with the time left until the deadline, so the whole stream is bounded by it.
+     * A failed call is retried only until its first chunk was emitted, so no chunk is ever delivered twice.
+     */
+    public Flux<String> stream(String prompt) {
+        return Flux.deferContextual(context -> {
+            if (OrchestrationContext.isExpired(context)) {
+                return Flux.error(new OrchestrationContext.DeadlineExceededException(
+                        "Orchestration deadline exceeded, LLM call skipped"));
+            }
+            AtomicBoolean emitted = new AtomicBoolean();
+            Flux<String> call = Flux.defer(() -> content(prompt))
+                    .doOnNext(chunk -> emitted.set(true))
+                    .retryWhen(retry(error -> !emitted.get() && isTransient(error)));
+            if (OrchestrationContext.deadline(context).isEmpty()) {
+                return call;
+            }
+            return call.timeout(untilDeadline(context), chunk -> untilDeadline(context),
+                    Flux.error(() -> new OrchestrationContext.DeadlineExceededException(
+                            "Orchestration deadline exceeded during LLM call")));
+        });
+    }
+
+    private Flux<String> content(String prompt) {
+        return chatClient
                 .prompt()
                 .user(prompt)
-                .call()             // (KK) BLOCKING call, demo only
-                .content())
-            .subscribeOn(Schedulers.boundedElastic());
+                .stream()
+                .content();
+    }
+
+    private Retry retry(Predicate<Throwable> retryable) {
+        return Retry.backoff(Math.max(0, maxAttempts - 1), Duration.ofMillis(backoffDelayMs))
+                .multiplier(backoffMultiplier)
+                .maxBackoff(Duration.ofMillis(backoffMaxDelayMs))
+                .jitter(0)
+                .filter(retryable)
+                .doBeforeRetry(signal -> log.warn("LLM call failed (attempt {} of {}), retrying in {} ms: {}",
+                        signal.totalRetries() + 1, maxAttempts, backoffDelay(signal.totalRetries()),
+                        signal.failure().getMessage()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private long backoffDelay(long retry) {
+        return (long) Math.min(backoffMaxDelayMs, backoffDelayMs * Math.pow(backoffMultiplier, retry));
+    }
+
+    // Client errors other than rate limiting will fail the same way again
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof NonTransientAiException || error instanceof OrchestrationContext.DeadlineExceededException) {
+            return false;
+        }
+        if (error instanceof WebClientResponseException response) {
+            return !response.getStatusCode().is4xxClientError() || response.getStatusCode().value() == 429;
+        }
+        return true;
+    }
+
+    private static Mono<Long> untilDeadline(ContextView context) {
+        return Mono.delay(OrchestrationContext.remaining(context)
+                .filter(left -> !left.isNegative())
+                .orElse(Duration.ZERO));
     }
 }
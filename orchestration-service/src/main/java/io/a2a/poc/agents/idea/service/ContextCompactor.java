@@ -0,0 +1,218 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.util.TokenEstimator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the upstream context handed to a step within a token budget. Plan inputs are never touched; the
+ * remaining budget is shared fairly between upstream outputs (small outputs pass through whole, the rest
+ * split what is left). An output over its share is summarized by the LLM when enabled, otherwise reduced
+ * to its section headings and lead paragraphs, and finally truncated head and tail with an omission marker.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContextCompactor {
+
+    private static final Pattern HEADING = Pattern.compile(
+            "^(#{1,6}\\s+.+|\\*\\*[^*]+\\*\\*:?|\\d+\\.\\s+\\S.*|[A-Z][^.!?]{0,80}:)$");
+    private static final String OMITTED_MARKER = "\n[... ~%d tokens omitted ...]\n";
+    private static final int RECENT_STEPS = 50;
+
+    private final ChatService chatService;
+
+    @Value("${app.orchestration.compaction.enabled:true}")
+    private boolean enabled = true;
+
+    /** Upper bound on the estimated tokens of a step's consolidated input */
+    @Value("${app.orchestration.compaction.input-token-budget:6000}")
+    private int inputTokenBudget = 6000;
+
+    @Value("${app.orchestration.compaction.summarize:false}")
+    private boolean summarize = false;
+
+    /** Outputs below this size are never sent for summarization */
+    @Value("${app.orchestration.compaction.summarize-min-tokens:1500}")
+    private int summarizeMinTokens = 1500;
+
+    @Value("${app.orchestration.compaction.summarize-timeout-sec:30}")
+    private long summarizeTimeoutSec = 30;
+
+    private final AtomicLong stepsCompacted = new AtomicLong();
+    private final AtomicLong tokensBefore = new AtomicLong();
+    private final AtomicLong tokensAfter = new AtomicLong();
+    private final AtomicLong summaries = new AtomicLong();
+    private final Deque<Map<String, Object>> recent = new ArrayDeque<>();
+
+    /**
+     * Compacts the upstream outputs (step id to output, in input order) of one step; the plan inputs only
+     * count against the budget.
+     */
+    public Mono<Map<String, String>> compact(String taskId, String stepId, Map<String, String> upstream,
+            List<String> inputs) {
+        int inputTokens = inputs.stream().mapToInt(TokenEstimator::estimate).sum();
+        Map<String, Integer> sizes = new HashMap<>();
+        upstream.forEach((id, output) -> sizes.put(id, TokenEstimator.estimate(output)));
+        int upstreamTokens = sizes.values().stream().mapToInt(Integer::intValue).sum();
+
+        if (!enabled || upstream.isEmpty() || inputTokens + upstreamTokens <= inputTokenBudget) {
+            return Mono.just(upstream);
+        }
+
+        Map<String, Integer> shares = fairShares(sizes, Math.max(0, inputTokenBudget - inputTokens));
+        return Flux.fromIterable(upstream.entrySet())
+                .concatMap(entry -> {
+                    int share = shares.get(entry.getKey());
+                    if (sizes.get(entry.getKey()) <= share) {
+                        return Mono.just(entry);
+                    }
+                    return compactOutput(entry.getValue(), share).map(compacted -> Map.entry(entry.getKey(), compacted));
+                })
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .doOnNext(compacted -> report(taskId, stepId, upstreamTokens,
+                        compacted.values().stream().mapToInt(TokenEstimator::estimate).sum()));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("inputTokenBudget", inputTokenBudget);
+        stats.put("stepsCompacted", stepsCompacted.get());
+        stats.put("tokensBefore", tokensBefore.get());
+        stats.put("tokensAfter", tokensAfter.get());
+        stats.put("tokensSaved", tokensBefore.get() - tokensAfter.get());
+        stats.put("summaries", summaries.get());
+        synchronized (recent) {
+            stats.put("recentSteps", new ArrayList<>(recent));
+        }
+        return stats;
+    }
+
+    /**
+     * Max-min fair split of the budget: outputs smaller than an equal share keep their size, the rest
+     * is divided evenly among the larger ones.
+     */
+    private Map<String, Integer> fairShares(Map<String, Integer> sizes, int budget) {
+        List<Map.Entry<String, Integer>> bySize = new ArrayList<>(sizes.entrySet());
+        bySize.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+        Map<String, Integer> shares = new HashMap<>();
+        int remaining = budget;
+        for (int i = 0; i < bySize.size(); i++) {
+            int share = Math.min(bySize.get(i).getValue(), remaining / (bySize.size() - i));
+            shares.put(bySize.get(i).getKey(), share);
+            remaining -= share;
+        }
+        return shares;
+    }
+
+    private Mono<String> compactOutput(String output, int maxTokens) {
+        if (!summarize || TokenEstimator.estimate(output) < summarizeMinTokens) {
+            return Mono.just(extractOrTruncate(output, maxTokens));
+        }
+        String prompt = String.format("""
+                Summarize the following agent output in at most %d tokens. Keep every decision, number, \
+                name and recommendation; drop explanations and repetition. Answer with the summary only.
+
+                %s
+                """, maxTokens, output);
+        return chatService.ask(prompt)
+                .timeout(Duration.ofSeconds(summarizeTimeoutSec))
+                .doOnNext(summary -> summaries.incrementAndGet())
+                .map(summary -> truncate(summary, maxTokens))
+                .onErrorResume(e -> {
+                    log.warn("Summarization failed, falling back to extraction: {}", e.getMessage());
+                    return Mono.just(extractOrTruncate(output, maxTokens));
+                });
+    }
+
+    private String extractOrTruncate(String output, int maxTokens) {
+        String sections = extractSections(output);
+        if (sections != null && TokenEstimator.estimate(sections) <= maxTokens) {
+            return sections;
+        }
+        return truncate(sections != null ? sections : output, maxTokens);
+    }
+
+    /**
+     * Headings plus the first paragraph under each; null when the text has no recognizable sections.
+     */
+    private String extractSections(String output) {
+        String[] lines = output.split("\n");
+        StringBuilder extracted = new StringBuilder();
+        int headings = 0;
+        boolean keepParagraph = false;
+        boolean inParagraph = false;
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (HEADING.matcher(trimmed).matches()) {
+                headings++;
+                extracted.append(line).append('\n');
+                keepParagraph = true;
+                inParagraph = false;
+            } else if (trimmed.isEmpty()) {
+                if (inParagraph) {
+                    keepParagraph = false;
+                }
+                inParagraph = false;
+            } else if (keepParagraph) {
+                extracted.append(line).append('\n');
+                inParagraph = true;
+            }
+        }
+        if (headings < 2) {
+            return null;
+        }
+        return extracted.append("[... section details omitted ...]").toString();
+    }
+
+    private String truncate(String text, int maxTokens) {
+        int total = TokenEstimator.estimate(text);
+        if (total <= maxTokens) {
+            return text;
+        }
+        int available = Math.max(0, maxTokens - TokenEstimator.estimate(String.format(OMITTED_MARKER, total)));
+        String head = TokenEstimator.prefix(text, available * 2 / 3);
+        String tail = TokenEstimator.suffix(text, available - available * 2 / 3);
+        int omitted = total - TokenEstimator.estimate(head) - TokenEstimator.estimate(tail);
+        return head + String.format(OMITTED_MARKER, omitted) + tail;
+    }
+
+    private void report(String taskId, String stepId, int before, int after) {
+        stepsCompacted.incrementAndGet();
+        tokensBefore.addAndGet(before);
+        tokensAfter.addAndGet(after);
+        log.info("Compacted upstream context of step {} from ~{} to ~{} tokens (saved ~{})",
+                stepId, before, after, before - after);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("taskId", taskId);
+        entry.put("stepId", stepId);
+        entry.put("tokensBefore", before);
+        entry.put("tokensAfter", after);
+        entry.put("tokensSaved", before - after);
+        synchronized (recent) {
+            recent.addFirst(entry);
+            if (recent.size() > RECENT_STEPS) {
+                recent.removeLast();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.a2a.poc.agents.idea.service;
 
+import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -7,16 +8,23 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.a2a.poc.agents.idea.service.model.OrchestrationEvent;
 import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
+import io.a2a.poc.agents.idea.util.OrchestrationContext;
+import io.a2a.poc.agents.idea.util.SkillDeadline;
 import io.a2a.receptionist.Receptionist;
 import io.a2a.receptionist.model.SkillInvocationRequest;
 import io.a2a.receptionist.model.SkillInvocationResponse;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,14 +33,143 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class DispatcherAndExecutionService {
 
+    /**
+     * What happens to the rest of the plan when a step fails: its transitive dependents are skipped,
+     * the whole plan stops, or everything still runs with the error text as upstream input.
+     */
+    public enum FailurePolicy {
+        SKIP_DEPENDENTS, FAIL_PLAN, CONTINUE
+    }
+
+    private static final String ERROR_PREFIX = "Error: ";
+    private static final String SKIPPED_PREFIX = "Skipped: ";
+
     @Autowired
     Receptionist receptionist;
 
+    @Value("${app.orchestration.failure-policy:SKIP_DEPENDENTS}")
+    private String failurePolicy = "SKIP_DEPENDENTS";
+
+    private FailurePolicy failurePolicyMode = FailurePolicy.SKIP_DEPENDENTS;
+
+    private final StepScheduler stepScheduler;
+    private final SkillLatencyTracker latencyTracker;
+    private final AgentBulkheads bulkheads;
+    private final StepResultCache stepResultCache;
+    private final OrchestrationEventPublisher eventPublisher;
+    private final ExecutionJournal journal;
+    private final SkillReplicaRegistry replicaRegistry;
+    private final SkillHedging hedging;
+    private final StepTimeoutPolicy timeoutPolicy;
+    private final AgentCircuitBreakers breakers;
+    private final AgentHealthTracker agentHealth;
+    private final ContextCompactor contextCompactor;
+
+    // A misspelt policy fails at startup rather than on the first failed step
+    @PostConstruct
+    void init() {
+        try {
+            failurePolicyMode = FailurePolicy.valueOf(failurePolicy.trim().toUpperCase(java.util.Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid app.orchestration.failure-policy: " + failurePolicy, e);
+        }
+    }
+
     public reactor.core.publisher.Mono<String> dispatchAndExecuteTask(TaskOrchestrationResponse orchestrationResponse) {
+        return dispatchAndExecuteTask(orchestrationResponse, null);
+    }
+
+    /**
+     * Executes the plan and publishes step progress under the given correlation id (may be null).
+     */
+    public reactor.core.publisher.Mono<String> dispatchAndExecuteTask(TaskOrchestrationResponse orchestrationResponse,
+            String correlationId) {
+        return dispatchAndExecuteTask(orchestrationResponse, correlationId, Map.of());
+    }
+
+    /**
+     * Executes the plan, treating the given step results (e.g. replayed from the journal) as already
+     * complete; only the remaining steps are sent to agents.
+     */
+    public reactor.core.publisher.Mono<String> dispatchAndExecuteTask(TaskOrchestrationResponse orchestrationResponse,
+            String correlationId, Map<String, String> completedSteps) {
+        return dispatchAndExecuteTask(orchestrationResponse, correlationId, completedSteps, Map.of());
+    }
+
+    /**
+     * Executes a plan that is still being generated. Steps without dependencies are started as soon as
+     * they arrive on the stream; the rest of the plan runs once the complete plan is available and
+     * takes over the results of the early steps. An early step the final plan does not contain
+     * unchanged is cancelled, as are all early steps when planning fails.
+     */
+    public reactor.core.publisher.Mono<String> dispatchStreamingTask(
+            reactor.core.publisher.Flux<TaskOrchestrationResponse.SelectedSkill> streamedSteps,
+            reactor.core.publisher.Mono<TaskOrchestrationResponse> plan, String correlationId) {
+        return reactor.core.publisher.Mono.deferContextual(context -> {
+            // Early steps run before the plan (and its task id) is known
+            PlanExecution early = new PlanExecution(correlationId, correlationId, List.of(), Map.of(), Map.of());
+            Map<String, PrestartedStep> prestarted = new ConcurrentHashMap<>();
+            reactor.core.Disposable streaming = streamedSteps
+                .filter(skill -> skill.stepId() != null && (skill.dependsOn() == null || skill.dependsOn().isEmpty()))
+                // This subscription may be the one that starts the planner call: give it the deadline
+                .contextWrite(context)
+                .subscribe(skill -> prestarted.computeIfAbsent(skill.stepId(),
+                        stepId -> prestart(skill, early, context)),
+                    // The complete plan reports the failure
+                    error -> log.debug("Plan stream ended early: {}", error.getMessage()));
+
+            return plan
+                .flatMap(response -> {
+                    streaming.dispose();
+                    Map<String, TaskOrchestrationResponse.SelectedSkill> planned = response.selectedSkills() == null
+                        ? Map.of()
+                        : response.selectedSkills().stream().collect(Collectors.toMap(
+                            TaskOrchestrationResponse.SelectedSkill::stepId, skill -> skill, (first, second) -> first));
+                    Map<String, reactor.core.publisher.Mono<String>> adopted = new HashMap<>();
+                    prestarted.forEach((stepId, step) -> {
+                        if (step.skill().equals(planned.get(stepId))) {
+                            adopted.put(stepId, step.result());
+                        } else {
+                            log.warn("Step {} started from the plan stream is not in the final plan, cancelling", stepId);
+                            step.call().dispose();
+                        }
+                    });
+                    log.info("Plan complete with {} of its steps already running", adopted.size());
+                    return dispatchAndExecuteTask(response, correlationId, Map.of(), adopted);
+                })
+                // Results of early steps are consumed by then; whatever still runs is no longer needed
+                .doFinally(signal -> {
+                    streaming.dispose();
+                    prestarted.values().forEach(step -> step.call().dispose());
+                });
+        });
+    }
+
+    private PrestartedStep prestart(TaskOrchestrationResponse.SelectedSkill skill, PlanExecution early,
+            reactor.util.context.ContextView context) {
+        log.info("Starting step {} with agent {} while the plan is still streaming", skill.stepId(), skill.agentName());
+        eventPublisher.publish(OrchestrationEvent.step(OrchestrationEvent.Type.STEP_STARTED,
+                early.correlationId, skill, null));
+        reactor.core.publisher.Sinks.One<String> outcome = reactor.core.publisher.Sinks.one();
+        reactor.core.Disposable call = executeSkillWithRetry(skill, early)
+            .contextWrite(context)
+            .subscribe(outcome::tryEmitValue, outcome::tryEmitError, outcome::tryEmitEmpty);
+        return new PrestartedStep(skill, outcome.asMono(), call);
+    }
+
+    private reactor.core.publisher.Mono<String> dispatchAndExecuteTask(TaskOrchestrationResponse orchestrationResponse,
+            String correlationId, Map<String, String> completedSteps,
+            Map<String, reactor.core.publisher.Mono<String>> prestarted) {
         try {
             List<TaskOrchestrationResponse.SelectedSkill> skills = orchestrationResponse.selectedSkills();
             List<TaskOrchestrationResponse.SelectedSkill> executionOrder = topologicalSort(skills);
-            return executeInDependencyOrder(executionOrder)
+            log.info("Executing {} steps in {} mode", executionOrder.size(), orchestrationResponse.executionMode());
+            Map<String, List<String>> dependents = dependentsOf(executionOrder);
+            PlanExecution execution = new PlanExecution(orchestrationResponse.taskId(), correlationId, executionOrder,
+                    dependents, remainingPathEstimates(executionOrder, dependents));
+            execution.results.putAll(completedSteps);
+            execution.prestarted.putAll(prestarted);
+            return executeInDependencyOrder(executionOrder, orchestrationResponse.executionMode(), execution)
                 .map(results -> consolidateResults(results, orchestrationResponse.taskId()))
                 .onErrorResume(e -> {
                     log.error("Error executing task orchestration: {}", e.getMessage(), e);
@@ -106,28 +243,176 @@ public class DispatcherAndExecutionService {
         return result;
     }
 
-    private reactor.core.publisher.Mono<Map<String, String>> executeInDependencyOrder(List<TaskOrchestrationResponse.SelectedSkill> orderedSkills) {
-        Map<String, String> results = new LinkedHashMap<>();
-        // Use Flux sequentially to ensure dependency order, with state in results map
+    private reactor.core.publisher.Mono<Map<String, String>> executeInDependencyOrder(
+            List<TaskOrchestrationResponse.SelectedSkill> orderedSkills,
+            TaskOrchestrationResponse.ExecutionMode executionMode, PlanExecution execution) {
+        reactor.core.publisher.Mono<Void> steps = executionMode == null
+                || executionMode == TaskOrchestrationResponse.ExecutionMode.SEQUENTIAL
+                        ? executeSequentially(orderedSkills, execution)
+                        : executeAsGraph(orderedSkills, execution);
+
+        return steps
+            .onErrorResume(PlanFailedException.class, e -> {
+                // Steps cancelled in flight or never started are reported as skipped
+                for (TaskOrchestrationResponse.SelectedSkill skill : orderedSkills) {
+                    execution.results.putIfAbsent(skill.stepId(),
+                        SKIPPED_PREFIX + String.format("plan failed at step '%s'", e.getMessage()));
+                }
+                return reactor.core.publisher.Mono.empty();
+            })
+            .then(reactor.core.publisher.Mono.fromCallable(() -> inExecutionOrder(orderedSkills, execution.results)));
+    }
+
+    /**
+     * Runs the steps one after another in topological order.
+     */
+    private reactor.core.publisher.Mono<Void> executeSequentially(List<TaskOrchestrationResponse.SelectedSkill> orderedSkills,
+            PlanExecution execution) {
         return reactor.core.publisher.Flux.fromIterable(orderedSkills)
-            .concatMap(skill ->
-                executeSkillWithRetry(skill, results)
-                    .doOnNext(result -> {
-                        log.info("Executing step: {} with agent: {} and skill: {}", skill.stepId(), skill.agentName(), skill.skillId());
-                        results.put(skill.stepId(), result);
-                        log.info("Successfully completed step: {}", skill.stepId());
-                    })
-                    .onErrorResume(e -> {
-                        log.error("Failed to execute step: {} - {}", skill.stepId(), e.getMessage());
-                        results.put(skill.stepId(), "Error: " + e.getMessage());
-                        return reactor.core.publisher.Mono.just("Error: " + e.getMessage());
-                    })
-            )
-            .then(reactor.core.publisher.Mono.fromCallable(() -> results));
+            .concatMap(skill -> executeStep(skill, execution))
+            .then();
+    }
+
+    /**
+     * Starts every step as soon as all steps listed in its dependsOn have finished, so independent
+     * branches of the graph run concurrently and the total time follows the critical path.
+     * Cancelling the returned Mono (e.g. the client went away) cancels the steps still in flight.
+     */
+    private reactor.core.publisher.Mono<Void> executeAsGraph(List<TaskOrchestrationResponse.SelectedSkill> orderedSkills,
+            PlanExecution execution) {
+        Map<String, reactor.core.publisher.Mono<String>> steps = new HashMap<>();
+        // cache() keeps its source running when subscribers cancel, so cancellation is signalled explicitly
+        reactor.core.publisher.Sinks.Empty<Void> cancelled = reactor.core.publisher.Sinks.empty();
+        java.util.concurrent.atomic.AtomicBoolean aborted = new java.util.concurrent.atomic.AtomicBoolean();
+
+        // Topological order guarantees that every dependency is registered before its dependents
+        for (TaskOrchestrationResponse.SelectedSkill skill : orderedSkills) {
+            List<reactor.core.publisher.Mono<String>> upstream = skill.dependsOn() == null
+                    ? List.of()
+                    : skill.dependsOn().stream().map(steps::get).collect(Collectors.toList());
+
+            reactor.core.publisher.Mono<String> step = reactor.core.publisher.Mono.when(upstream)
+                    .then(reactor.core.publisher.Mono.defer(() -> aborted.get()
+                            ? reactor.core.publisher.Mono.<String>empty()
+                            : executeStep(skill, execution)))
+                    .takeUntilOther(cancelled.asMono())
+                    .cache();
+            steps.put(skill.stepId(), step);
+        }
+
+        Runnable abort = () -> {
+            aborted.set(true);
+            cancelled.tryEmitEmpty();
+        };
+        return reactor.core.publisher.Mono.when(steps.values())
+            .doOnError(e -> abort.run())
+            .doOnCancel(() -> {
+                log.warn("Task {} cancelled, cancelling in-flight steps", execution.taskId);
+                abort.run();
+            });
+    }
+
+    private reactor.core.publisher.Mono<String> executeStep(TaskOrchestrationResponse.SelectedSkill skill,
+            PlanExecution execution) {
+        String completed = execution.results.get(skill.stepId());
+        if (completed != null && completed.startsWith(SKIPPED_PREFIX)) {
+            return reactor.core.publisher.Mono.just(completed);
+        }
+        if (completed != null) {
+            log.info("Step {} already completed in a previous run, skipping", skill.stepId());
+            eventPublisher.publish(OrchestrationEvent.step(OrchestrationEvent.Type.STEP_COMPLETED,
+                    execution.correlationId, skill, completed));
+            return reactor.core.publisher.Mono.just(completed);
+        }
+
+        return reactor.core.publisher.Mono.deferContextual(context -> {
+            if (OrchestrationContext.isExpired(context)) {
+                // Nobody waits for the answer any more; do not spend agent or LLM time on it
+                return reactor.core.publisher.Mono.just(
+                    markSkipped(skill, execution, "orchestration deadline exceeded"));
+            }
+            return runStep(skill, execution);
+        });
+    }
+
+    private reactor.core.publisher.Mono<String> runStep(TaskOrchestrationResponse.SelectedSkill skill,
+            PlanExecution execution) {
+        log.info("Executing step: {} with agent: {} and skill: {}", skill.stepId(), skill.agentName(), skill.skillId());
+        // Started while the plan was streaming: only its outcome is awaited here
+        reactor.core.publisher.Mono<String> call = execution.prestarted.remove(skill.stepId());
+        if (call == null) {
+            eventPublisher.publish(OrchestrationEvent.step(OrchestrationEvent.Type.STEP_STARTED,
+                    execution.correlationId, skill, null));
+            call = executeSkillWithRetry(skill, execution);
+        }
+        return call
+            .doOnNext(result -> {
+                execution.results.put(skill.stepId(), result);
+                log.info("Successfully completed step: {}", skill.stepId());
+                eventPublisher.publish(OrchestrationEvent.step(OrchestrationEvent.Type.STEP_COMPLETED,
+                        execution.correlationId, skill, result));
+            })
+            .flatMap(result -> journal.appendStep(execution.correlationId, skill.stepId(), result).thenReturn(result))
+            .onErrorResume(e -> {
+                log.error("Failed to execute step: {} - {}", skill.stepId(), e.getMessage());
+                execution.results.put(skill.stepId(), ERROR_PREFIX + e.getMessage());
+                eventPublisher.publish(OrchestrationEvent.step(OrchestrationEvent.Type.STEP_FAILED,
+                        execution.correlationId, skill, e.getMessage()));
+                return onStepFailure(skill, execution).thenReturn(ERROR_PREFIX + e.getMessage());
+            });
+    }
+
+    /**
+     * Applies the failure policy to a failed step. Dependents are marked before the failed step's Mono
+     * completes, so none of them is ever started.
+     */
+    private reactor.core.publisher.Mono<Void> onStepFailure(TaskOrchestrationResponse.SelectedSkill failed,
+            PlanExecution execution) {
+        switch (failurePolicyMode) {
+            case FAIL_PLAN:
+                log.warn("Step {} failed, failing task {}", failed.stepId(), execution.taskId);
+                return reactor.core.publisher.Mono.error(new PlanFailedException(failed.stepId()));
+            case SKIP_DEPENDENTS:
+                java.util.Deque<String> pending = new java.util.ArrayDeque<>(
+                    execution.dependents.getOrDefault(failed.stepId(), List.of()));
+                while (!pending.isEmpty()) {
+                    String stepId = pending.poll();
+                    if (execution.results.containsKey(stepId)) {
+                        continue;
+                    }
+                    markSkipped(execution.skills.get(stepId), execution,
+                        String.format("upstream step '%s' failed", failed.stepId()));
+                    pending.addAll(execution.dependents.getOrDefault(stepId, List.of()));
+                }
+                return reactor.core.publisher.Mono.empty();
+            default:
+                return reactor.core.publisher.Mono.empty();
+        }
+    }
+
+    private String markSkipped(TaskOrchestrationResponse.SelectedSkill skill, PlanExecution execution, String reason) {
+        String skipped = SKIPPED_PREFIX + reason;
+        log.warn("Skipping step {}: {}", skill.stepId(), reason);
+        execution.results.put(skill.stepId(), skipped);
+        eventPublisher.publish(OrchestrationEvent.step(OrchestrationEvent.Type.STEP_SKIPPED,
+                execution.correlationId, skill, reason));
+        return skipped;
+    }
+
+    private Map<String, String> inExecutionOrder(List<TaskOrchestrationResponse.SelectedSkill> orderedSkills,
+            Map<String, String> results) {
+        Map<String, String> ordered = new LinkedHashMap<>();
+        for (TaskOrchestrationResponse.SelectedSkill skill : orderedSkills) {
+            String result = results.get(skill.stepId());
+            if (result != null) {
+                ordered.put(skill.stepId(), result);
+            }
+        }
+        return ordered;
     }
 
     private reactor.core.publisher.Mono<String> executeSkillWithRetry(TaskOrchestrationResponse.SelectedSkill skill,
-            Map<String, String> previousResults) {
+            PlanExecution execution) {
         int maxAttempts = skill.retries() != null && skill.retries().maxAttempts() != null
                 ? skill.retries().maxAttempts()
                 : 1;
@@ -135,23 +420,39 @@ public class DispatcherAndExecutionService {
                 ? skill.retries().backoffSec()
                 : 1;
 
-        return executeSkill(skill, previousResults)
+        return executeSkill(skill, execution)
             .retryWhen(reactor.util.retry.Retry.backoff(maxAttempts - 1, java.time.Duration.ofSeconds(backoffSec))
+                .filter(DispatcherAndExecutionService::isRetryable)
                 .doBeforeRetry(retrySignal ->
                     log.warn("Attempt {}/{} failed for step {}: {}",
                         retrySignal.totalRetries() + 1, maxAttempts, skill.stepId(), retrySignal.failure().getMessage())
                 )
+                // Surface the last real failure (timeout, bulkhead rejection, ...) instead of "Retries exhausted"
+                .onRetryExhaustedThrow((spec, retrySignal) -> retrySignal.failure())
             );
     }
 
-    private reactor.core.publisher.Mono<String> executeSkill(TaskOrchestrationResponse.SelectedSkill skill, Map<String, String> previousResults) {
+    /**
+     * A passed deadline, an open breaker and a full bulkhead all reject the call before it reaches the
+     * agent; retrying them within the step's backoff only adds load where there is no capacity.
+     */
+    private static boolean isRetryable(Throwable error) {
+        Throwable cause = error.getCause();
+        return !(cause instanceof OrchestrationContext.DeadlineExceededException
+            || cause instanceof AgentCircuitBreakers.CallNotPermittedException
+            || cause instanceof AgentBulkheads.BulkheadFullException);
+    }
+
+    private reactor.core.publisher.Mono<String> executeSkill(TaskOrchestrationResponse.SelectedSkill skill, PlanExecution execution) {
 
+        Map<String, String> upstream = new LinkedHashMap<>();
         List<String> consolidatedInput = new ArrayList<>();
 
         if (skill.dependsOn() != null) {
             for (String dependency : skill.dependsOn()) {
-                String dependencyResult = previousResults.get(dependency);
+                String dependencyResult = execution.results.get(dependency);
                 if (dependencyResult != null) {
+                    upstream.put(dependency, dependencyResult);
                     consolidatedInput.add(String.format("Output from step '%s': %s", dependency, dependencyResult));
                 } else {
                     log.warn("No result found for dependency: {} in step: {}", dependency, skill.stepId());
@@ -159,42 +460,289 @@ public class DispatcherAndExecutionService {
             }
         }
 
+        List<String> planInputs = new ArrayList<>();
         if (skill.input() != null) {
             for (Map.Entry<String, Object> entry : skill.input().entrySet()) {
-                consolidatedInput.add(String.format("Input '%s': %s", entry.getKey(), entry.getValue()));
+                planInputs.add(String.format("Input '%s': %s", entry.getKey(), entry.getValue()));
             }
         }
+        consolidatedInput.addAll(planInputs);
+
+        // Learned from observed latency; the planner's timeoutSec is only an upper bound
+        Duration stepTimeout = timeoutPolicy.timeoutFor(skill);
+
+        StepScheduler.StepTicket ticket = StepScheduler.StepTicket.of(execution.taskId, skill.stepId(),
+                skill.priority(), execution.remainingPathMs.getOrDefault(skill.stepId(), 0L));
+
+        // Keyed by the full upstream context so results stay reusable whatever the compaction produced
+        String cacheKey = StepResultCache.key(skill.agentName(), skill.skillId(), consolidatedInput);
+
+        return reactor.core.publisher.Mono.deferContextual(context -> {
+            // The agent's own timeout runs inside its circuit breaker; the orchestration deadline is a
+            // caller's budget and is applied out here, so a short deadline never counts against the agent
+            Duration deadlineLeft = OrchestrationContext.clip(stepTimeout, context);
+            boolean deadlineBound = deadlineLeft.compareTo(stepTimeout) < 0;
+
+            reactor.core.publisher.Mono<String> invocation = contextCompactor
+                .compact(execution.taskId, skill.stepId(), upstream, planInputs)
+                .map(compacted -> {
+                    List<String> compactedInput = new ArrayList<>();
+                    compacted.forEach((dependency, result) ->
+                        compactedInput.add(String.format("Output from step '%s': %s", dependency, result)));
+                    compactedInput.addAll(planInputs);
+                    return compactedInput;
+                })
+                .flatMap(compactedInput -> invokeWithHedging(skill, compactedInput, ticket, stepTimeout))
+                .elapsed()
+                .doOnNext(timed -> stepResultCache.store(cacheKey, timed.getT2(), timed.getT1()))
+                .map(reactor.util.function.Tuple2::getT2);
+            if (deadlineBound) {
+                invocation = invocation.timeout(deadlineLeft, reactor.core.publisher.Mono.error(() ->
+                    new OrchestrationContext.DeadlineExceededException(String.format(
+                        "orchestration deadline exceeded after %d ms", deadlineLeft.toMillis()))));
+            }
 
-        SkillInvocationRequest skillRequest = SkillInvocationRequest.builder()
-                .agentName(skill.agentName())
-                .skillId(skill.skillId())
-                .input(consolidatedInput)
-                // .contextId(generateContextId(skill))
-                .metadata(createMetadata(skill))
-                .build();
-
-        int timeoutSec = skill.timeoutSec() != null ? skill.timeoutSec() : 120; // default 2 minutes
-
-        return reactor.core.publisher.Mono.fromCallable(() -> receptionist.invokeAgentSkill(skillRequest)
-                .timeout(Duration.ofSeconds(timeoutSec))
-                .block())
-            .map(response -> {
-                if (response != null && response.getResult() != null) {
-                    Object part = response.getResult().getParts().get(0);
-                    return part instanceof io.a2a.spec.TextPart ? ((io.a2a.spec.TextPart) part).getText() : part.toString();
+            return stepResultCache.lookup(cacheKey)
+                .doOnNext(cached -> log.info("Step {} served from result cache ({}:{})",
+                    skill.stepId(), skill.agentName(), skill.skillId()))
+                .switchIfEmpty(invocation)
+                .onErrorMap(java.util.concurrent.TimeoutException.class, e -> new java.util.concurrent.TimeoutException(
+                    String.format("timed out after %d ms", stepTimeout.toMillis())))
+                .onErrorMap(e -> new RuntimeException(
+                    String.format("Skill invocation failed for %s:%s - %s",
+                        skill.agentName(), skill.skillId(), e.getMessage()), e));
+        });
+    }
+
+    /**
+     * Invokes the planned agent; if the call outlives the skill's observed latency quantile and another
+     * agent advertises the same skill, a duplicate is sent there. The hedge delay is measured from the
+     * moment the primary call is actually dispatched, so time queued in bulkheads and the scheduler never
+     * triggers a hedge. The first successful answer wins and the other call is cancelled; once a hedge is
+     * running, a failure of either call waits for the other, and only when both fail does the step fail
+     * (with the primary's error). A primary failure before any hedge was sent fails the step at once.
+     * When the planned agent's circuit breaker is open the step is rerouted to a healthy replica, if any.
+     * Targets are chosen per subscription so a retry sees the current breaker state.
+     */
+    private reactor.core.publisher.Mono<String> invokeWithHedging(TaskOrchestrationResponse.SelectedSkill skill,
+            List<String> consolidatedInput, StepScheduler.StepTicket ticket, Duration timeout) {
+        return reactor.core.publisher.Mono.defer(() -> {
+            List<SkillReplicaRegistry.Replica> replicas = replicaRegistry.alternatives(skill.skillId(), skill.agentName())
+                .stream()
+                .filter(replica -> breakers.isCallPermitted(replica.agentName()))
+                .collect(Collectors.toList());
+
+            String targetName = skill.agentName();
+            URI targetUrl = skill.agentUrl();
+            if (!breakers.isCallPermitted(targetName) && !replicas.isEmpty()) {
+                SkillReplicaRegistry.Replica reroute = replicas.remove(0);
+                log.warn("Circuit breaker open for {}, rerouting step {} to {}", targetName, skill.stepId(),
+                    reroute.agentName());
+                targetName = reroute.agentName();
+                targetUrl = reroute.agentUrl() != null ? URI.create(reroute.agentUrl()) : null;
+            }
+            String primaryName = targetName;
+
+            java.util.Optional<Duration> hedgeDelay = hedging.hedgeDelay(primaryName, skill.skillId());
+            hedging.recordPrimary();
+            if (hedgeDelay.isEmpty() || replicas.isEmpty()) {
+                return invokeAgent(primaryName, targetUrl, skill, consolidatedInput, ticket, timeout, () -> { });
+            }
+
+            reactor.core.publisher.Sinks.Empty<Void> dispatched = reactor.core.publisher.Sinks.empty();
+            reactor.core.publisher.Mono<HedgeAttempt> primary = invokeAgent(primaryName, targetUrl,
+                    skill, consolidatedInput, ticket, timeout, dispatched::tryEmitEmpty)
+                .map(result -> new HedgeAttempt(result, null, true))
+                .onErrorResume(e -> reactor.core.publisher.Mono.just(new HedgeAttempt(null, e, true)));
+
+            SkillReplicaRegistry.Replica replica = replicas.get(0);
+            java.util.concurrent.atomic.AtomicBoolean hedgeSent = new java.util.concurrent.atomic.AtomicBoolean();
+            reactor.core.publisher.Mono<HedgeAttempt> hedge = dispatched.asMono()
+                .then(reactor.core.publisher.Mono.delay(hedgeDelay.get()))
+                .filter(tick -> hedging.tryAcquireHedge())
+                .flatMap(tick -> {
+                    hedgeSent.set(true);
+                    log.info("Step {} slower than {} ms on {}, hedging to {}", skill.stepId(),
+                        hedgeDelay.get().toMillis(), primaryName, replica.agentName());
+                    URI replicaUrl = replica.agentUrl() != null ? URI.create(replica.agentUrl()) : null;
+                    return invokeAgent(replica.agentName(), replicaUrl, skill, consolidatedInput, ticket, timeout,
+                        () -> { });
+                })
+                .map(result -> new HedgeAttempt(result, null, false))
+                .onErrorResume(e -> reactor.core.publisher.Mono.just(new HedgeAttempt(null, e, false)));
+
+            java.util.concurrent.atomic.AtomicReference<Throwable> primaryFailure =
+                new java.util.concurrent.atomic.AtomicReference<>();
+            java.util.concurrent.atomic.AtomicBoolean hedgeFailed = new java.util.concurrent.atomic.AtomicBoolean();
+            return reactor.core.publisher.Flux.merge(primary, hedge)
+                .concatMap(attempt -> {
+                    if (attempt.error() == null) {
+                        if (!attempt.primary()) {
+                            hedging.recordHedgeWon();
+                        }
+                        return reactor.core.publisher.Mono.just(attempt.result());
+                    }
+                    if (attempt.primary()) {
+                        primaryFailure.set(attempt.error());
+                        return hedgeSent.get() && !hedgeFailed.get()
+                            ? reactor.core.publisher.Mono.<String>empty()
+                            : reactor.core.publisher.Mono.<String>error(attempt.error());
+                    }
+                    hedgeFailed.set(true);
+                    log.warn("Hedged call for step {} to {} failed: {}", skill.stepId(), replica.agentName(),
+                        attempt.error().getMessage());
+                    return primaryFailure.get() != null
+                        ? reactor.core.publisher.Mono.<String>error(primaryFailure.get())
+                        : reactor.core.publisher.Mono.<String>empty();
+                })
+                .next();
+        });
+    }
+
+    /**
+     * Sends one skill invocation to the given agent. Composed end to end without blocking: no thread is
+     * held while the remote agent works. The agent bulkhead is taken first so global slots are never
+     * spent waiting on a saturated agent. An open circuit breaker fails the call before it queues anywhere.
+     * onDispatch runs once the call has left the queues and is sent.
+     */
+    private reactor.core.publisher.Mono<String> invokeAgent(String agentName, URI agentUrl,
+            TaskOrchestrationResponse.SelectedSkill skill, List<String> consolidatedInput,
+            StepScheduler.StepTicket ticket, Duration timeout, Runnable onDispatch) {
+        if (!breakers.isCallPermitted(agentName)) {
+            return reactor.core.publisher.Mono.error(new AgentCircuitBreakers.CallNotPermittedException(
+                String.format("Circuit breaker for agent %s is open", agentName)));
+        }
+        return reactor.core.publisher.Mono.deferContextual(context -> {
+            Map<String, Object> metadata = createMetadata(skill);
+            metadata.put("agentName", agentName);
+            if (agentUrl != null) {
+                metadata.put("agentUrl", agentUrl.toString());
+            }
+            // Lets agents skip work whose answer would arrive too late. Skills only see their inputs, so
+            // the deadline also travels in front of the first one (never in the cache key)
+            List<String> input = consolidatedInput;
+            Optional<Long> deadline = OrchestrationContext.deadline(context);
+            if (deadline.isPresent()) {
+                metadata.put("deadlineEpochMs", deadline.get());
+                input = new ArrayList<>(consolidatedInput);
+                if (input.isEmpty()) {
+                    input.add(SkillDeadline.attach("", deadline.get()));
                 } else {
-                    throw new RuntimeException(
-                        String.format("No result received from skill %s:%s",
-                            skill.agentName(), skill.skillId()));
+                    input.set(0, SkillDeadline.attach(input.get(0), deadline.get()));
                 }
-            })
-            .onErrorMap(e -> new RuntimeException(
-                String.format("Skill invocation failed for %s:%s - %s",
-                    skill.agentName(), skill.skillId(), e.getMessage()), e));
+            }
+
+            SkillInvocationRequest skillRequest = SkillInvocationRequest.builder()
+                    .agentName(agentName)
+                    .skillId(skill.skillId())
+                    .input(input)
+                    .metadata(metadata)
+                    .build();
+
+            String url = agentUrl != null ? agentUrl.toString() : null;
+            return bulkheads.withPermits(agentName, skill.skillId(), timeout,
+                    () -> stepScheduler.schedule(ticket, () -> withBreaker(agentName, url, skill.skillId(), onDispatch,
+                            invokeTimed(agentName, skill.skillId(), skillRequest, timeout))));
+        });
     }
 
-    private String generateContextId(TaskOrchestrationResponse.SelectedSkill skill) {
-        return String.format("ctx_%s_%s_%d", skill.agentName(), skill.stepId(), System.currentTimeMillis());
+    /**
+     * Reserves a call on the agent's circuit breaker and reports its outcome to the breaker and the agent
+     * health tracker. The response is classified here, so failures the agent reports count like failed
+     * calls; so does the agent's own timeout. Deadline errors and cancellation are not the agent's fault
+     * and are not counted.
+     */
+    private reactor.core.publisher.Mono<String> withBreaker(String agentName, String agentUrl, String skillId,
+            Runnable onDispatch, reactor.core.publisher.Mono<SkillInvocationResponse> call) {
+        return reactor.core.publisher.Mono.defer(() -> {
+            if (!breakers.tryAcquire(agentName, agentUrl)) {
+                return reactor.core.publisher.Mono.error(new AgentCircuitBreakers.CallNotPermittedException(
+                    String.format("Circuit breaker for agent %s is open", agentName)));
+            }
+            onDispatch.run();
+            long started = System.nanoTime();
+            reactor.core.publisher.Mono<String> classified = call
+                .switchIfEmpty(reactor.core.publisher.Mono.error(() -> new IllegalStateException(
+                    String.format("No result received from skill %s:%s", agentName, skillId))))
+                .map(response -> extractText(agentName, skillId, response));
+            return agentHealth.track(agentName, classified)
+                .doOnSuccess(text -> breakers.onSuccess(agentName, Duration.ofNanos(System.nanoTime() - started)))
+                .doOnError(e -> {
+                    if (e instanceof OrchestrationContext.DeadlineExceededException) {
+                        breakers.onCancel(agentName);
+                    } else {
+                        breakers.onFailure(agentName, Duration.ofNanos(System.nanoTime() - started));
+                    }
+                })
+                .doOnCancel(() -> breakers.onCancel(agentName));
+        });
+    }
+
+    /**
+     * Calls the agent under its own timeout and feeds the latency tracker. A call that times out is
+     * recorded at the timeout, so the learned timeout can grow when a skill gets slower instead of
+     * freezing on the samples of calls that were still fast enough.
+     */
+    private reactor.core.publisher.Mono<SkillInvocationResponse> invokeTimed(String agentName, String skillId,
+            SkillInvocationRequest skillRequest, Duration timeout) {
+        return reactor.core.publisher.Mono.defer(() -> {
+            long started = System.nanoTime();
+            return receptionist.invokeAgentSkill(skillRequest)
+                .timeout(timeout)
+                .doOnNext(response -> latencyTracker.record(agentName, skillId,
+                    Duration.ofNanos(System.nanoTime() - started)))
+                .doOnError(java.util.concurrent.TimeoutException.class,
+                    e -> latencyTracker.record(agentName, skillId, timeout));
+        });
+    }
+
+    /**
+     * Longest remaining path (own expected latency plus the slowest chain of dependents) per step,
+     * estimated from observed per-skill latency. Used to run critical-path steps first.
+     */
+    private Map<String, Long> remainingPathEstimates(List<TaskOrchestrationResponse.SelectedSkill> orderedSkills,
+            Map<String, List<String>> dependents) {
+        Map<String, Long> remaining = new HashMap<>();
+        for (int i = orderedSkills.size() - 1; i >= 0; i--) {
+            TaskOrchestrationResponse.SelectedSkill skill = orderedSkills.get(i);
+            long downstream = dependents.getOrDefault(skill.stepId(), List.of()).stream()
+                    .mapToLong(remaining::get)
+                    .max()
+                    .orElse(0L);
+            remaining.put(skill.stepId(), latencyTracker.expectedMillis(skill.agentName(), skill.skillId()) + downstream);
+        }
+        return remaining;
+    }
+
+    /**
+     * Direct dependents of every step.
+     */
+    private Map<String, List<String>> dependentsOf(List<TaskOrchestrationResponse.SelectedSkill> orderedSkills) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (TaskOrchestrationResponse.SelectedSkill skill : orderedSkills) {
+            if (skill.dependsOn() != null) {
+                for (String dependency : skill.dependsOn()) {
+                    dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(skill.stepId());
+                }
+            }
+        }
+        return dependents;
+    }
+
+    private String extractText(String agentName, String skillId, SkillInvocationResponse response) {
+        if (Boolean.FALSE.equals(response.getSuccess())) {
+            String reason = response.getErrorMessage() != null ? response.getErrorMessage() : "Invocation failed";
+            throw new IllegalStateException(
+                String.format("%s from skill %s:%s", reason, agentName, skillId));
+        }
+        if (response.getResult() == null || response.getResult().getParts() == null
+                || response.getResult().getParts().isEmpty()) {
+            String reason = response.getErrorMessage() != null ? response.getErrorMessage() : "No result received";
+            throw new IllegalStateException(
+                String.format("%s from skill %s:%s", reason, agentName, skillId));
+        }
+        Object part = response.getResult().getParts().get(0);
+        return part instanceof io.a2a.spec.TextPart ? ((io.a2a.spec.TextPart) part).getText() : part.toString();
     }
 
     private Map<String, Object> createMetadata(TaskOrchestrationResponse.SelectedSkill skill) {
@@ -213,35 +761,98 @@ public class DispatcherAndExecutionService {
         return metadata;
     }
 
+    /**
+     * State of one plan run shared by its steps.
+     */
+    private static final class PlanExecution {
+        private final String taskId;
+        private final String correlationId;
+        private final Map<String, TaskOrchestrationResponse.SelectedSkill> skills;
+        private final Map<String, List<String>> dependents;
+        private final Map<String, Long> remainingPathMs;
+        // Steps complete out of order in graph mode, so collect concurrently and re-order at the end
+        private final Map<String, String> results = new ConcurrentHashMap<>();
+        private final Map<String, reactor.core.publisher.Mono<String>> prestarted = new ConcurrentHashMap<>();
+
+        PlanExecution(String taskId, String correlationId, List<TaskOrchestrationResponse.SelectedSkill> skills,
+                Map<String, List<String>> dependents, Map<String, Long> remainingPathMs) {
+            this.taskId = taskId;
+            this.correlationId = correlationId;
+            this.skills = skills.stream()
+                    .collect(Collectors.toMap(TaskOrchestrationResponse.SelectedSkill::stepId, skill -> skill));
+            this.dependents = dependents;
+            this.remainingPathMs = remainingPathMs;
+        }
+    }
+
+    /**
+     * Outcome of the primary or the hedged call of a step: a result or an error.
+     */
+    private record HedgeAttempt(String result, Throwable error, boolean primary) {
+    }
+
+    /**
+     * A root step started from the plan stream; call is disposed to cancel it.
+     */
+    private record PrestartedStep(TaskOrchestrationResponse.SelectedSkill skill,
+            reactor.core.publisher.Mono<String> result, reactor.core.Disposable call) {
+    }
+
+    /**
+     * Stops a plan under the FAIL_PLAN policy; the message is the failed step id.
+     */
+    private static final class PlanFailedException extends RuntimeException {
+        PlanFailedException(String stepId) {
+            super(stepId);
+        }
+    }
+
     private String consolidateResults(Map<String, String> results, String taskId) {
         StringBuilder consolidatedResult = new StringBuilder();
         consolidatedResult.append(String
                 .format("Task '%s' execution completed using dependency-based acyclic graph execution.\n\n", taskId));
 
         long successfulSteps = results.values().stream()
-                .filter(result -> !result.toString().startsWith("Error:"))
+                .filter(DispatcherAndExecutionService::isSuccess)
+                .count();
+        long skippedSteps = results.values().stream()
+                .filter(result -> result.startsWith(SKIPPED_PREFIX))
                 .count();
 // This line of code is formatting and appending a summary of the execution results to the
 // `consolidatedResult` StringBuilder. It shows the number of steps that were successfully completed
 // out of the total number of steps. The `%d` placeholders are replaced with the actual counts of
 // successful steps and total steps using the `String.format` method.
 
-        consolidatedResult.append(String.format("Execution Summary: %d/%d steps completed successfully\n\n",
-                successfulSteps, results.size()));
+        consolidatedResult.append(String.format("Execution Summary: %d/%d steps completed successfully%s\n\n",
+                successfulSteps, results.size(),
+                skippedSteps > 0 ? String.format(", %d skipped", skippedSteps) : ""));
 
         // Add individual step results in execution order
         consolidatedResult.append("Step-by-Step Results:\n");
         results.forEach((stepId, result) -> {
-            String status = result.toString().startsWith("Error:") ? "[FAILED]" : "[SUCCESS]";
+            if (result.startsWith(SKIPPED_PREFIX)) {
+                return;
+            }
+            String status = result.startsWith(ERROR_PREFIX) ? "[FAILED]" : "[SUCCESS]";
             consolidatedResult.append(String.format("%s Step %s: %s\n", status, stepId, result));
         });
 
+        if (skippedSteps > 0) {
+            consolidatedResult.append("\nSkipped Steps (not executed):\n");
+            results.forEach((stepId, result) -> {
+                if (result.startsWith(SKIPPED_PREFIX)) {
+                    consolidatedResult.append(String.format("[SKIPPED] Step %s: %s\n", stepId,
+                            result.substring(SKIPPED_PREFIX.length())));
+                }
+            });
+        }
+
         consolidatedResult.append("\n" + "=".repeat(50) + "\n");
         consolidatedResult.append("Final Consolidated Output:\n");
 
         // Create a comprehensive summary combining all successful results
         String successfulResults = results.entrySet().stream()
-                .filter(entry -> !entry.getValue().toString().startsWith("Error:"))
+                .filter(entry -> isSuccess(entry.getValue()))
                 .map(entry -> String.format("From %s: %s", entry.getKey(), entry.getValue()))
                 .collect(Collectors.joining("\n\n"));
 
@@ -253,4 +864,8 @@ public class DispatcherAndExecutionService {
 
         return consolidatedResult.toString();
     }
+
+    private static boolean isSuccess(String result) {
+        return !result.startsWith(ERROR_PREFIX) && !result.startsWith(SKIPPED_PREFIX);
+    }
 }
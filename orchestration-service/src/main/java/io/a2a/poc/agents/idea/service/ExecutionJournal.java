@@ -0,0 +1,247 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Append-only local journal of an orchestration: the submitted idea, the extracted metadata, the plan and
+ * every successfully completed step. One JSON-lines file per correlation id; a restarted service can read
+ * it back and resume the workflow, re-running only the steps that are not complete yet.
+ */
+@Component
+@Slf4j
+public class ExecutionJournal {
+
+    public enum RecordType {
+        IDEA, METADATA, PLAN, STEP, COMPLETED
+    }
+
+    @Value("${app.orchestration.journal.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.orchestration.journal.dir:data/journal}")
+    private String directory = "data/journal";
+
+    @Value("${app.orchestration.journal.retention-hours:72}")
+    private long retentionHours = 72;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, JournalLock> fileLocks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(Paths.get(directory));
+            purgeExpired();
+        } catch (IOException e) {
+            log.warn("Journal directory {} not usable, journaling disabled: {}", directory, e.getMessage());
+            enabled = false;
+        }
+    }
+
+    public Mono<Void> appendIdea(String correlationId, String idea) {
+        return append(correlationId, RecordType.IDEA, null, idea);
+    }
+
+    public Mono<Void> appendMetadata(String correlationId, Map<String, Object> metadata) {
+        return append(correlationId, RecordType.METADATA, null, metadata);
+    }
+
+    public Mono<Void> appendPlan(String correlationId, TaskOrchestrationResponse plan) {
+        return append(correlationId, RecordType.PLAN, null, plan);
+    }
+
+    public Mono<Void> appendStep(String correlationId, String stepId, String result) {
+        return append(correlationId, RecordType.STEP, stepId, result);
+    }
+
+    public Mono<Void> appendCompleted(String correlationId, String result) {
+        return append(correlationId, RecordType.COMPLETED, null, result);
+    }
+
+    /**
+     * Replays the journal of an orchestration, empty when none exists.
+     */
+    public Mono<JournalState> load(String correlationId) {
+        return Mono.fromCallable(() -> read(correlationId).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> append(String correlationId, RecordType type, String stepId, Object data) {
+        if (!enabled || correlationId == null) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(() -> write(correlationId, type, stepId, data))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    // The journal must never break the workflow it records
+                    log.warn("[{}] Failed to journal {} record: {}", correlationId, type, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void write(String correlationId, RecordType type, String stepId, Object data) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("type", type.name());
+        entry.put("timestamp", System.currentTimeMillis());
+        if (stepId != null) {
+            entry.put("stepId", stepId);
+        }
+        entry.put("data", data);
+
+        try {
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            JournalLock lock = fileLocks.compute(correlationId, (id, held) -> held == null ? new JournalLock() : held.retain());
+            try {
+                synchronized (lock) {
+                    try (FileChannel channel = FileChannel.open(file(correlationId),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                        channel.write(ByteBuffer.wrap(line));
+                        channel.force(false);
+                    }
+                }
+            } finally {
+                fileLocks.computeIfPresent(correlationId, (id, held) -> held.release() ? null : held);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal write failed", e);
+        }
+    }
+
+    /**
+     * Serializes the appends to one journal file, so only writers of the same orchestration wait for
+     * each other's fsync. Dropped from the map once no writer holds it.
+     */
+    private static final class JournalLock {
+        private int holders = 1;
+
+        JournalLock retain() {
+            holders++;
+            return this;
+        }
+
+        boolean release() {
+            return --holders == 0;
+        }
+    }
+
+    private Optional<JournalState> read(String correlationId) throws IOException {
+        Path file = file(correlationId);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        JournalState state = new JournalState(correlationId);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    // A torn last line after a crash is expected; everything before it is still valid
+                    log.warn("[{}] Skipping unreadable journal line", correlationId);
+                    continue;
+                }
+                JsonNode data = node.get("data");
+                switch (RecordType.valueOf(node.get("type").asText())) {
+                    case IDEA -> state.idea = data.asText();
+                    case METADATA -> state.metadata = objectMapper.convertValue(data,
+                            new TypeReference<Map<String, Object>>() {
+                            });
+                    case PLAN -> state.plan = objectMapper.convertValue(data, TaskOrchestrationResponse.class);
+                    case STEP -> state.completedSteps.put(node.get("stepId").asText(), data.asText());
+                    case COMPLETED -> state.result = data.asText();
+                }
+            }
+        }
+        return Optional.of(state);
+    }
+
+    private Path file(String correlationId) {
+        if (!correlationId.matches("[A-Za-z0-9_-]+")) {
+            throw new IllegalArgumentException("Invalid correlation id: " + correlationId);
+        }
+        return Paths.get(directory, correlationId + ".jsonl");
+    }
+
+    private void purgeExpired() throws IOException {
+        long cutoff = System.currentTimeMillis() - Duration.ofHours(retentionHours).toMillis();
+        try (Stream<Path> files = Files.list(Paths.get(directory))) {
+            files.filter(path -> path.toString().endsWith(".jsonl"))
+                    .filter(path -> path.toFile().lastModified() < cutoff)
+                    .forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Replayed state of one orchestration.
+     */
+    public static final class JournalState {
+        private final String correlationId;
+        private String idea;
+        private Map<String, Object> metadata;
+        private TaskOrchestrationResponse plan;
+        private final Map<String, String> completedSteps = new LinkedHashMap<>();
+        private String result;
+
+        JournalState(String correlationId) {
+            this.correlationId = correlationId;
+        }
+
+        public String correlationId() {
+            return correlationId;
+        }
+
+        public String idea() {
+            return idea;
+        }
+
+        public Map<String, Object> metadata() {
+            return metadata;
+        }
+
+        public TaskOrchestrationResponse plan() {
+            return plan;
+        }
+
+        public Map<String, String> completedSteps() {
+            return completedSteps;
+        }
+
+        public String result() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.a2a.poc.agents.idea.util.BoundedTtlCache;
+import io.a2a.poc.agents.idea.util.ContentHash;
+import io.a2a.poc.agents.idea.util.PlannerService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * The one LLM extraction pass over a submitted document (title, description, keywords, skills,
+ * requiredTags); discovery and planning both read its result. Results are cached by the document's
+ * content hash, so resubmitting the same bill skips extraction, and concurrent submissions of the
+ * same document share a single call.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MetadataExtractionService {
+
+    private final PlannerService plannerService;
+
+    @Value("${app.orchestration.metadata-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.orchestration.metadata-cache.max-entries:200}")
+    private int maxEntries = 200;
+
+    @Value("${app.orchestration.metadata-cache.ttl-minutes:1440}")
+    private long ttlMinutes = 1440;
+
+    private BoundedTtlCache<String, Map<String, Object>> cache;
+    private final Map<String, Mono<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        cache = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    public Mono<Map<String, Object>> extract(String document, String correlationId) {
+        if (!enabled) {
+            return plannerService.extractMetadata(document);
+        }
+        String key = ContentHash.sha256(document);
+        return Mono.defer(() -> {
+            Map<String, Object> cached = cache.get(key);
+            if (cached != null) {
+                log.info("[{}] Document metadata served from cache", correlationId);
+                return Mono.just(cached);
+            }
+            return inFlight.computeIfAbsent(key, k -> plannerService.extractMetadata(document)
+                    // A reply that could not be parsed is not worth keeping
+                    .doOnNext(metadata -> {
+                        if (!metadata.containsKey("raw")) {
+                            cache.put(k, metadata);
+                        }
+                    })
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache());
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", cache.size());
+        stats.put("hits", cache.hits());
+        stats.put("misses", cache.misses());
+        stats.put("hitRate", cache.hitRate());
+        stats.put("evictions", cache.evictions());
+        return stats;
+    }
+}
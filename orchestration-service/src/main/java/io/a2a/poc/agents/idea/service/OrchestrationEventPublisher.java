@@ -0,0 +1,48 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.service.model.OrchestrationEvent;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Per-correlation-id multicast of orchestration progress. Publishing for an id nobody opened is a no-op,
+ * so the workflow code can publish unconditionally.
+ */
+@Component
+@Slf4j
+public class OrchestrationEventPublisher {
+
+    private final Map<String, Sinks.Many<OrchestrationEvent>> sinks = new ConcurrentHashMap<>();
+
+    /**
+     * Opens the event stream of an orchestration. Events are replayed, so subscribers that attach
+     * after the workflow started still see the metadata and the plan.
+     */
+    public Flux<OrchestrationEvent> open(String correlationId) {
+        return sinks.computeIfAbsent(correlationId, id -> Sinks.many().replay().all()).asFlux();
+    }
+
+    public void publish(OrchestrationEvent event) {
+        if (event.correlationId() == null) {
+            return;
+        }
+        Sinks.Many<OrchestrationEvent> sink = sinks.get(event.correlationId());
+        if (sink != null) {
+            // Steps finish on different threads; busy-loop on concurrent emission instead of dropping events
+            sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(java.time.Duration.ofMillis(100)));
+        }
+    }
+
+    public void complete(String correlationId) {
+        Sinks.Many<OrchestrationEvent> sink = sinks.remove(correlationId);
+        if (sink != null) {
+            sink.emitComplete(Sinks.EmitFailureHandler.busyLooping(java.time.Duration.ofMillis(100)));
+        }
+    }
+}
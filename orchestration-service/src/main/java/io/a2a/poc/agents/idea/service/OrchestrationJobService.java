@@ -0,0 +1,216 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.a2a.poc.agents.idea.service.model.OrchestrationEvent;
+import io.a2a.poc.agents.idea.service.model.OrchestrationJob;
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
+import io.a2a.poc.agents.idea.util.BoundedTtlCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs orchestrations detached from the HTTP request that submitted them. Job snapshots, including
+ * partial step results taken from the orchestration's progress events, live in a bounded in-memory
+ * store with TTL eviction; finished jobs are also written to disk (when a directory is configured) so
+ * their results survive a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrchestrationJobService {
+
+    private final OrchestrationEventPublisher eventPublisher;
+
+    @Value("${app.orchestration.jobs.max-entries:1000}")
+    private int maxEntries = 1000;
+
+    @Value("${app.orchestration.jobs.ttl-minutes:1440}")
+    private long ttlMinutes = 1440;
+
+    /** Empty keeps finished jobs in memory only */
+    @Value("${app.orchestration.jobs.dir:data/jobs}")
+    private String directory = "data/jobs";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Disposable> running = new ConcurrentHashMap<>();
+    private BoundedTtlCache<String, OrchestrationJob> jobs;
+
+    @PostConstruct
+    void init() {
+        jobs = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+        if (!diskEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(Paths.get(directory));
+            purgeExpired();
+        } catch (IOException e) {
+            log.warn("Job directory {} not usable, finished jobs kept in memory only: {}", directory, e.getMessage());
+            directory = "";
+        }
+    }
+
+    /**
+     * Starts the workflow in the background under the given job id and returns its first snapshot.
+     * The workflow must publish its progress under the same id (its correlation id).
+     */
+    public OrchestrationJob submit(String jobId, Mono<String> workflow) {
+        OrchestrationJob job = OrchestrationJob.submitted(jobId);
+        jobs.put(jobId, job);
+
+        eventPublisher.open(jobId).subscribe(this::onEvent);
+        Disposable execution = workflow
+                // A workflow that finishes without a result must still leave the job in a final state
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Workflow completed without a result")))
+                .doOnNext(result -> update(jobId, current -> current.completed(result)))
+                .doOnError(error -> update(jobId, current -> current.failed(error.getMessage())))
+                .doFinally(signal -> running.remove(jobId))
+                .subscribe(result -> log.info("[{}] Job completed", jobId),
+                        error -> log.error("[{}] Job failed: {}", jobId, error.getMessage()));
+        if (!execution.isDisposed()) {
+            running.put(jobId, execution);
+        }
+        return job;
+    }
+
+    public Optional<OrchestrationJob> find(String jobId) {
+        OrchestrationJob job = jobs.get(jobId);
+        return job != null ? Optional.of(job) : readFromDisk(jobId);
+    }
+
+    /**
+     * Cancels a running job, which cancels its in-flight steps; false when the job is not running.
+     */
+    public boolean cancel(String jobId) {
+        Disposable execution = running.remove(jobId);
+        if (execution == null) {
+            return false;
+        }
+        execution.dispose();
+        eventPublisher.complete(jobId);
+        update(jobId, current -> current.withStatus(OrchestrationJob.Status.CANCELLED));
+        log.info("[{}] Job cancelled", jobId);
+        return true;
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                "jobsInMemory", jobs.size(),
+                "runningJobs", running.size(),
+                "evictions", jobs.evictions());
+    }
+
+    private void onEvent(OrchestrationEvent event) {
+        switch (event.type()) {
+            case PLAN_CREATED -> update(event.correlationId(), job -> {
+                OrchestrationJob planned = job.withStatus(OrchestrationJob.Status.RUNNING);
+                if (event.payload() instanceof TaskOrchestrationResponse plan && plan.selectedSkills() != null) {
+                    for (TaskOrchestrationResponse.SelectedSkill skill : plan.selectedSkills()) {
+                        // Steps started while the plan was streaming already have a newer status
+                        if (planned.steps().containsKey(skill.stepId())) {
+                            continue;
+                        }
+                        planned = planned.withStep(new OrchestrationJob.StepStatus(skill.stepId(),
+                                skill.agentName(), skill.skillId(), "PENDING", null));
+                    }
+                }
+                return planned;
+            });
+            case STEP_STARTED -> updateStep(event, "RUNNING");
+            case STEP_COMPLETED -> updateStep(event, "COMPLETED");
+            case STEP_FAILED -> updateStep(event, "FAILED");
+            case STEP_SKIPPED -> updateStep(event, "SKIPPED");
+            default -> {
+                // Metadata and terminal events are covered by the workflow result itself
+            }
+        }
+    }
+
+    private void updateStep(OrchestrationEvent event, String status) {
+        String output = event.payload() != null ? event.payload().toString() : null;
+        update(event.correlationId(), job -> job.withStep(new OrchestrationJob.StepStatus(
+                event.stepId(), event.agentName(), event.skillId(), status, output)));
+    }
+
+    private void update(String jobId, java.util.function.UnaryOperator<OrchestrationJob> change) {
+        OrchestrationJob updated;
+        synchronized (this) {
+            OrchestrationJob current = jobs.get(jobId);
+            // Evicted while running, or already finished (e.g. cancelled): nothing to update
+            if (current == null || current.isTerminal()) {
+                return;
+            }
+            updated = change.apply(current);
+            jobs.put(jobId, updated);
+        }
+        if (updated.isTerminal() && diskEnabled()) {
+            OrchestrationJob finished = updated;
+            Mono.fromRunnable(() -> writeToDisk(finished)).subscribeOn(Schedulers.boundedElastic()).subscribe();
+        }
+    }
+
+    private void writeToDisk(OrchestrationJob job) {
+        try {
+            Path target = file(job.jobId());
+            Path tmp = Files.createTempFile(target.getParent(), "job", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), job);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[{}] Could not persist finished job: {}", job.jobId(), e.getMessage());
+        }
+    }
+
+    private Optional<OrchestrationJob> readFromDisk(String jobId) {
+        if (!diskEnabled() || !jobId.matches("[A-Za-z0-9_-]+")) {
+            return Optional.empty();
+        }
+        Path path = file(jobId);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            OrchestrationJob job = objectMapper.readValue(path.toFile(), OrchestrationJob.class);
+            jobs.put(jobId, job);
+            return Optional.of(job);
+        } catch (IOException e) {
+            log.warn("[{}] Could not read persisted job: {}", jobId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Path file(String jobId) {
+        return Paths.get(directory, jobId + ".json").toAbsolutePath();
+    }
+
+    private boolean diskEnabled() {
+        return directory != null && !directory.isBlank();
+    }
+
+    private void purgeExpired() throws IOException {
+        long cutoff = System.currentTimeMillis() - Duration.ofMinutes(ttlMinutes).toMillis();
+        try (Stream<Path> files = Files.list(Paths.get(directory))) {
+            files.filter(path -> path.toString().endsWith(".json"))
+                    .filter(path -> path.toFile().lastModified() < cutoff)
+                    .forEach(path -> path.toFile().delete());
+        }
+    }
+}
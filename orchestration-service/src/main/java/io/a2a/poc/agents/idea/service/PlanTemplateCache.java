@@ -0,0 +1,208 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator.A2AReceptionistSkill;
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse.SelectedSkill;
+import io.a2a.poc.agents.idea.util.BoundedTtlCache;
+import io.a2a.poc.agents.idea.util.ContentHash;
+import io.a2a.poc.agents.idea.util.PlannerPromptBuilder.UserTask;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reuses planner output across documents with the same required tags and the same discovered
+ * catalog. Only the DAG (steps, agents, dependsOn, timeouts, retries) is kept; a step input value
+ * copied from a user task field remembers that field and is bound again from the new document's task,
+ * any other value (an instruction or role the planner wrote) is kept as is. Entries are keyed by
+ * catalog fingerprint and tag set, so documents planned against different catalogs do not evict each
+ * other's plans; a plan for a catalog no longer discovered ages out.
+ */
+@Component
+@Slf4j
+public class PlanTemplateCache {
+
+    private static final String DESCRIPTION = "description";
+    private static final String TITLE = "title";
+    private static final String CONSTRAINT_PREFIX = "constraints.";
+
+    @Value("${app.orchestration.plan-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.orchestration.plan-cache.max-entries:200}")
+    private int maxEntries = 200;
+
+    @Value("${app.orchestration.plan-cache.ttl-minutes:720}")
+    private long ttlMinutes = 720;
+
+    private BoundedTtlCache<TemplateKey, PlanTemplate> templates;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        templates = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+    }
+
+    /**
+     * A plan for the task built from the template cached for these tags and this catalog, if any.
+     */
+    public Optional<TaskOrchestrationResponse> lookup(List<String> requiredTags, List<A2AReceptionistSkill> catalog,
+            UserTask task, String correlationId) {
+        if (!enabled || requiredTags == null || requiredTags.isEmpty()) {
+            return Optional.empty();
+        }
+        TemplateKey key = TemplateKey.of(catalog, requiredTags);
+        PlanTemplate template = templates.get(key);
+        if (template == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        log.info("[{}] Reusing cached plan with {} steps for tags {}", correlationId, template.steps().size(),
+                key.tags());
+        List<SelectedSkill> steps = template.steps().stream()
+                .map(step -> bind(step, task))
+                .collect(Collectors.toList());
+        return Optional.of(new TaskOrchestrationResponse(correlationId, template.executionMode(), steps,
+                template.reason(), task));
+    }
+
+    /**
+     * Keeps the structure of a planner result; plans without steps are not worth reusing.
+     */
+    public void store(List<String> requiredTags, List<A2AReceptionistSkill> catalog, TaskOrchestrationResponse plan) {
+        if (!enabled || requiredTags == null || requiredTags.isEmpty()
+                || plan.selectedSkills() == null || plan.selectedSkills().isEmpty()) {
+            return;
+        }
+        UserTask task = plan.userTask();
+        List<StepTemplate> steps = new ArrayList<>();
+        for (SelectedSkill skill : plan.selectedSkills()) {
+            Map<String, InputBinding> bindings = new LinkedHashMap<>();
+            if (skill.input() != null) {
+                skill.input().forEach((name, value) -> bindings.put(name, bindingOf(value, task)));
+            }
+            steps.add(new StepTemplate(skill, bindings));
+        }
+        templates.put(TemplateKey.of(catalog, requiredTags),
+                new PlanTemplate(plan.executionMode(), plan.reason(), steps));
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+
+    public Map<String, Object> stats() {
+        long total = hits.get() + misses.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", templates.size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hits.get() / total);
+        stats.put("evictions", templates.evictions());
+        return stats;
+    }
+
+    /**
+     * Identity of the catalog the plan was made for. Discovery confidence is left out: it varies with
+     * the keywords of each document while the set of callable skills stays the same.
+     */
+    static String fingerprint(List<A2AReceptionistSkill> catalog) {
+        return ContentHash.sha256(catalog.stream()
+                .map(skill -> skill.agentName() + "|" + skill.skillId() + "|" + skill.agentUrl())
+                .sorted(Comparator.naturalOrder())
+                .distinct()
+                .collect(Collectors.joining("\n")));
+    }
+
+    // Values equal to a task field are rebound from the new task; anything else is planner-written text
+    private static InputBinding bindingOf(Object value, UserTask task) {
+        if (task != null) {
+            String text = String.valueOf(value);
+            if (Objects.equals(text, task.description())) {
+                return InputBinding.from(DESCRIPTION);
+            }
+            if (Objects.equals(text, task.title())) {
+                return InputBinding.from(TITLE);
+            }
+            if (task.constraints() != null) {
+                for (Map.Entry<String, Object> constraint : task.constraints().entrySet()) {
+                    if (Objects.equals(text, String.valueOf(constraint.getValue()))) {
+                        return InputBinding.from(CONSTRAINT_PREFIX + constraint.getKey());
+                    }
+                }
+            }
+        }
+        return InputBinding.literal(value);
+    }
+
+    private static SelectedSkill bind(StepTemplate step, UserTask task) {
+        Map<String, Object> input = new LinkedHashMap<>();
+        step.inputBindings().forEach((name, binding) -> input.put(name,
+                binding.source() != null ? boundValue(binding.source(), task) : binding.literal()));
+        SelectedSkill skill = step.skill();
+        return new SelectedSkill(skill.stepId(), skill.agentName(), skill.agentUrl(), skill.skillId(),
+                skill.confidence(), skill.priority(), skill.timeoutSec(), skill.retries(), input, skill.dependsOn());
+    }
+
+    /**
+     * The user task value named by a binding: "title", "description" or "constraints.&lt;key&gt;"
+     * (unknown names resolve to the description).
+     */
+    static Object boundValue(String source, UserTask task) {
+        if (TITLE.equals(source)) {
+            return task.title();
+        }
+        if (source.startsWith(CONSTRAINT_PREFIX) && task.constraints() != null) {
+            Object value = task.constraints().get(source.substring(CONSTRAINT_PREFIX.length()));
+            if (value != null) {
+                return value;
+            }
+        }
+        return task.description();
+    }
+
+    /**
+     * A step input: taken from the user task field named by source, or the literal when source is null.
+     */
+    private record InputBinding(String source, Object literal) {
+
+        static InputBinding from(String source) {
+            return new InputBinding(source, null);
+        }
+
+        static InputBinding literal(Object value) {
+            return new InputBinding(null, value);
+        }
+    }
+
+    private record StepTemplate(SelectedSkill skill, Map<String, InputBinding> inputBindings) {
+    }
+
+    private record TemplateKey(String catalogFingerprint, List<String> tags) {
+
+        static TemplateKey of(List<A2AReceptionistSkill> catalog, List<String> requiredTags) {
+            return new TemplateKey(fingerprint(catalog), SkillDiscoveryCache.normalize(requiredTags));
+        }
+    }
+
+    private record PlanTemplate(TaskOrchestrationResponse.ExecutionMode executionMode, String reason,
+            List<StepTemplate> steps) {
+    }
+}
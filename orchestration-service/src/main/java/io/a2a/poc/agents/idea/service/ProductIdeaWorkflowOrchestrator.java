@@ -4,11 +4,17 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import io.a2a.poc.agents.idea.service.mapper.SkillsSearchMapper;
+import io.a2a.poc.agents.idea.service.model.OrchestrationEvent;
 import io.a2a.poc.agents.idea.service.model.SkillsSearch;
 import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
 import io.a2a.poc.agents.idea.util.PlannerPromptBuilder.UserTask;
@@ -18,6 +24,7 @@ import io.a2a.receptionist.model.A2ASkillQuery;
 import io.a2a.receptionist.model.AgentSkillDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -29,10 +36,27 @@ public class ProductIdeaWorkflowOrchestrator {
     private static final double MIN_CONFIDENCE_THRESHOLD = 0.1;
     private static final int MAX_AGENT_RESULTS = 5;
     private static final String CORRELATION_ID_KEY = "correlationId";
+    private static final com.fasterxml.jackson.databind.ObjectMapper PLAN_MAPPER =
+            new com.fasterxml.jackson.databind.ObjectMapper();
     
     private final PlannerService plannerService;
     private final Receptionist receptionist;
     private final DispatcherAndExecutionService execution;
+    private final OrchestrationEventPublisher eventPublisher;
+    private final ExecutionJournal journal;
+    private final SkillReplicaRegistry replicaRegistry;
+    private final MetadataExtractionService metadataExtraction;
+    private final PlanTemplateCache planCache;
+    private final RuleBasedPlanner rulePlanner;
+    private final SkillDiscoveryCache discoveryCache;
+    private final AgentHealthTracker agentHealth;
+
+    /** Start steps without dependencies while the LLM planner is still streaming the plan */
+    @Value("${app.orchestration.planner.streaming:false}")
+    private boolean streamingPlanner = false;
+
+    // Correlation ids with a resume in progress; a second resume would replay and append to the same journal
+    private final Set<String> resuming = ConcurrentHashMap.newKeySet();
 
     /**
      * Discovers agents based on skill criteria with enhanced logging and error handling
@@ -66,9 +90,27 @@ public class ProductIdeaWorkflowOrchestrator {
      * Maps agent documents to A2A receptionist skills with validation
      */
     public Mono<List<A2AReceptionistSkill>> getA2AAgentSkills(SkillsSearch criteria, String correlationId) {
+        SkillDiscoveryCache.DiscoveryQuery query = SkillDiscoveryCache.DiscoveryQuery.of(
+                criteria.getKeywords(), criteria.getRequiredTags(), MAX_AGENT_RESULTS);
+
+        return discoveryCache.skillsFor(query, normalized -> discoverSkills(normalized, correlationId))
+                .doOnNext(replicaRegistry::register);
+    }
+
+    /**
+     * Warms the discovery cache once the application is up, so the first orchestrations find their
+     * catalog without a receptionist round trip.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetchDiscovery() {
+        discoveryCache.prefetch(MAX_AGENT_RESULTS, query -> discoverSkills(query, "startup"));
+    }
+
+    private Mono<List<A2AReceptionistSkill>> discoverSkills(SkillDiscoveryCache.DiscoveryQuery query,
+                                                            String correlationId) {
         log.debug("[{}] Converting agent documents to A2A skills", correlationId);
-        
-        return discoverAgents(criteria, correlationId)
+
+        return discoverAgents(new SkillsSearch(query.keywords(), query.requiredTags()), correlationId)
                 .map(agentDocs -> agentDocs.stream()
                         .flatMap(doc -> {
                             if (doc.getSkills() == null || doc.getSkills().isEmpty()) {
@@ -96,101 +138,227 @@ public class ProductIdeaWorkflowOrchestrator {
      * Determines which skills to execute based on the idea with enhanced flow control
      */
     public Mono<TaskOrchestrationResponse> determineSkillsToExecute(String newIdea, String correlationId) {
+        return determineSkillsToExecute(newIdea, correlationId, null);
+    }
+
+    private Mono<TaskOrchestrationResponse> determineSkillsToExecute(String newIdea, String correlationId,
+                                                                    Map<String, Object> knownMetadata) {
+        return preparePlan(newIdea, correlationId, knownMetadata).flatMap(PlanStream::plan);
+    }
+
+    private Mono<PlanStream> preparePlan(String newIdea, String correlationId, Map<String, Object> knownMetadata) {
         log.info("[{}] Determining skills to execute for idea: {}", correlationId, 
                 newIdea.substring(0, Math.min(newIdea.length(), 500)) + "...");
 
-        return prepareSkillsSearch(newIdea, correlationId)
-                .flatMap(skillsSearch -> getFilteredSkills(skillsSearch, correlationId))
-                .flatMap(filteredSkills -> createExecutionPlan(newIdea, filteredSkills, correlationId))
+        // One extraction feeds both discovery and planning; metadata replayed from the journal saves it on resume
+        Mono<Map<String, Object>> extracted = knownMetadata != null
+                ? Mono.just(knownMetadata)
+                : metadataExtraction.extract(newIdea, correlationId)
+                        .flatMap(map -> journal.appendMetadata(correlationId, map).thenReturn(map));
+
+        return extracted
+                .defaultIfEmpty(Map.of())
+                .flatMap(metadata -> getA2AAgentSkills(prepareSkillsSearch(metadata, correlationId), correlationId)
+                        .map(catalog -> createExecutionPlan(metadata, catalog, filterSkills(catalog, correlationId),
+                                correlationId)))
                 .doOnError(error -> 
                     log.error("[{}] Failed to determine skills to execute", correlationId, error));
     }
 
     /**
-     * Prepares skills search criteria from the idea
+     * Prepares skills search criteria from the extracted document metadata
      */
-    private Mono<SkillsSearch> prepareSkillsSearch(String newIdea, String correlationId) {
-        log.debug("[{}] Preparing skills search from idea", correlationId);
-        
-        return plannerService.prepareAgentSkills(newIdea)
-                .defaultIfEmpty(Map.of())
-                .map(map -> {
-                    List<String> keywords = SkillsSearchMapper.toStringList(map.get("keywords"));
-                    List<String> requiredTags = SkillsSearchMapper.toStringList(map.get("requiredTags"));
-                    
-                    log.debug("[{}] Extracted keywords: {}, tags: {}", correlationId, keywords, requiredTags);
-                    return new SkillsSearch(keywords, requiredTags);
-                })
-                .doOnError(error -> 
-                    log.error("[{}] Failed to prepare skills search", correlationId, error));
+    private SkillsSearch prepareSkillsSearch(Map<String, Object> metadata, String correlationId) {
+        List<String> keywords = SkillsSearchMapper.toStringList(metadata.get("keywords"));
+        List<String> requiredTags = SkillsSearchMapper.toStringList(metadata.get("requiredTags"));
+
+        log.debug("[{}] Extracted keywords: {}, tags: {}", correlationId, keywords, requiredTags);
+        eventPublisher.publish(OrchestrationEvent.of(OrchestrationEvent.Type.METADATA_EXTRACTED,
+                correlationId, metadata));
+        return new SkillsSearch(keywords, requiredTags);
     }
 
     /**
-     * Gets and filters skills based on confidence threshold
+     * Filters discovered skills based on confidence threshold, then ranks and prunes them by agent health.
+     * Documents with the same keywords and tags (e.g. inside a batch) share one discovery query through
+     * the discovery cache.
      */
-    private Mono<List<A2AReceptionistSkill>> getFilteredSkills(SkillsSearch skillsSearch, String correlationId) {
-        return getA2AAgentSkills(skillsSearch, correlationId)
-                .map(skills -> {
-                    List<A2AReceptionistSkill> filteredSkills = skills.stream()
-                            .filter(skill -> skill.confidence != null && skill.confidence >= MIN_CONFIDENCE_THRESHOLD)
-                            .collect(Collectors.toList());
-                    
-                    log.info("[{}] Filtered {} skills to {} based on confidence threshold {}", 
-                            correlationId, skills.size(), filteredSkills.size(), MIN_CONFIDENCE_THRESHOLD);
-                    
-                    if (filteredSkills.isEmpty()) {
-                        log.warn("[{}] No skills meet the confidence threshold", correlationId);
-                    }
-                    
-                    return filteredSkills;
-                });
+    private List<A2AReceptionistSkill> filterSkills(List<A2AReceptionistSkill> skills, String correlationId) {
+        List<A2AReceptionistSkill> filteredSkills = agentHealth.rank(skills.stream()
+                .filter(skill -> skill.confidence != null && skill.confidence >= MIN_CONFIDENCE_THRESHOLD)
+                .collect(Collectors.toList()));
+
+        log.info("[{}] Filtered {} skills to {} based on confidence threshold {} and agent health",
+                correlationId, skills.size(), filteredSkills.size(), MIN_CONFIDENCE_THRESHOLD);
+
+        if (filteredSkills.isEmpty()) {
+            log.warn("[{}] No skills meet the confidence threshold", correlationId);
+        }
+
+        return filteredSkills;
     }
 
     /**
-     * Creates execution plan from idea and filtered skills
+     * Creates execution plan from the extracted document metadata and filtered skills. With the
+     * streaming planner, plan steps are also emitted one by one while the LLM is still answering.
+     * Cached plans are keyed by the discovered catalog, before health ranking prunes it, so a
+     * briefly unhealthy agent does not turn every lookup into a miss.
      */
-    private Mono<TaskOrchestrationResponse> createExecutionPlan(String newIdea, 
+    private PlanStream createExecutionPlan(Map<String, Object> metadata,
+                                                               List<A2AReceptionistSkill> catalog,
                                                                List<A2AReceptionistSkill> filteredSkills, 
                                                                String correlationId) {
         log.debug("[{}] Creating execution plan", correlationId);
-        
-        return plannerService.createIdea(newIdea)
-                .flatMap(ideaMap -> {
-                    String idea = extractStringValue(ideaMap, "description", correlationId);
-                    String skills = extractStringValue(ideaMap, "skills", correlationId);
-                    
-                    Map<String, Object> skillsMap = parseSkillsToMap(skills, correlationId);
-                    
-                    UserTask task = new UserTask(
-                            "Draft a new banking product from fresh legislation",
-                            idea,
-                            skillsMap);
-                    
-                    log.debug("[{}] Created user task with {} skills", correlationId, skillsMap.size());
-                    
-                    return plannerService.plan(task, filteredSkills, MIN_CONFIDENCE_THRESHOLD)
-                            .map(planMap -> convertToTaskOrchestrationResponse(planMap, correlationId, task));
-                })
+
+        String idea = extractStringValue(metadata, "description", correlationId);
+        String skills = extractStringValue(metadata, "skills", correlationId);
+
+        Map<String, Object> skillsMap = parseSkillsToMap(skills, correlationId);
+
+        UserTask task = new UserTask(
+                "Draft a new banking product from fresh legislation",
+                idea,
+                skillsMap);
+
+        log.debug("[{}] Created user task with {} skills", correlationId, skillsMap.size());
+
+        // Known skill:* tag combinations are planned by rules; documents with the same tags and catalog
+        // get the same DAG from the plan cache; only the rest pays for the LLM planner
+        List<String> requiredTags = SkillsSearchMapper.toStringList(metadata.get("requiredTags"));
+        Flux<TaskOrchestrationResponse.SelectedSkill> streamedSteps = Flux.empty();
+        Mono<TaskOrchestrationResponse> planned;
+        java.util.Optional<TaskOrchestrationResponse> known = rulePlanner
+                .plan(requiredTags, filteredSkills, task, correlationId)
+                .or(() -> planCache.lookup(requiredTags, catalog, task, correlationId));
+        if (known.isPresent()) {
+            planned = Mono.just(known.get());
+        } else if (streamingPlanner) {
+            PlannerService.StreamingPlan stream = plannerService.planStreaming(task, filteredSkills,
+                    MIN_CONFIDENCE_THRESHOLD);
+            streamedSteps = stream.selectedSkills().concatMap(step -> toSelectedSkill(step, correlationId));
+            planned = stream.plan().map(planMap -> convertToTaskOrchestrationResponse(planMap, correlationId, task));
+        } else {
+            planned = plannerService.plan(task, filteredSkills, MIN_CONFIDENCE_THRESHOLD)
+                    .map(planMap -> convertToTaskOrchestrationResponse(planMap, correlationId, task));
+        }
+        if (known.isEmpty()) {
+            planned = planned.doOnNext(plan -> planCache.store(requiredTags, catalog, plan));
+        }
+
+        return new PlanStream(streamedSteps, planned
+                .flatMap(plan -> journal.appendPlan(correlationId, plan).thenReturn(plan))
+                .doOnNext(plan -> eventPublisher.publish(OrchestrationEvent.of(
+                        OrchestrationEvent.Type.PLAN_CREATED, correlationId, plan)))
                 .doOnError(error -> 
-                    log.error("[{}] Failed to create execution plan", correlationId, error));
+                    log.error("[{}] Failed to create execution plan", correlationId, error)));
+    }
+
+    private Mono<TaskOrchestrationResponse.SelectedSkill> toSelectedSkill(Map<String, Object> step,
+                                                                         String correlationId) {
+        try {
+            return Mono.just(PLAN_MAPPER.convertValue(step, TaskOrchestrationResponse.SelectedSkill.class));
+        } catch (IllegalArgumentException e) {
+            // Not started early; the complete plan still contains it
+            log.debug("[{}] Streamed plan step not usable: {}", correlationId, e.getMessage());
+            return Mono.empty();
+        }
     }
 
     /**
      * Orchestrates the complete product development workflow
      */
     public reactor.core.publisher.Mono<String> orchestrateProductDevelopment(String idea) {
-        String correlationId = generateCorrelationId();
+        return orchestrateProductDevelopment(idea, generateCorrelationId());
+    }
+
+    /**
+     * Orchestrates the workflow under a caller-supplied correlation id; progress events are published
+     * to {@link OrchestrationEventPublisher} under that id and its stream is completed at the end.
+     */
+    public reactor.core.publisher.Mono<String> orchestrateProductDevelopment(String idea, String correlationId) {
         log.info("[{}] Starting product development orchestration for idea", correlationId);
 
-        return determineSkillsToExecute(idea, correlationId)
-                .flatMap(response -> {
-                    log.info("[{}] Dispatching execution for orchestrated plan", correlationId);
-                    return execution.dispatchAndExecuteTask(response)
-                            .doOnNext(result ->
-                                log.info("[{}] Product development orchestration completed successfully", correlationId))
-                            .doOnError(error ->
-                                log.error("[{}] Product development orchestration failed", correlationId, error));
-                })
+        return journal.appendIdea(correlationId, idea)
+                .then(preparePlan(idea, correlationId, null))
+                .flatMap(plan -> dispatch(plan, correlationId))
+                .transform(workflow -> finishWorkflow(workflow, correlationId));
+    }
+
+    /**
+     * Resumes an interrupted orchestration from its journal: a journaled plan is executed again with
+     * only the not yet completed steps; without a plan the workflow restarts from the journaled idea,
+     * reusing the extracted metadata when it was recorded.
+     */
+    public Mono<String> resumeProductDevelopment(String correlationId) {
+        log.info("[{}] Resuming product development orchestration from journal", correlationId);
+
+        return Mono.defer(() -> {
+            if (!resuming.add(correlationId)) {
+                return Mono.error(new ResumeInProgressException(
+                        "Orchestration " + correlationId + " is already being resumed"));
+            }
+            return resumeFromJournal(correlationId)
+                    .doFinally(signal -> resuming.remove(correlationId));
+        });
+    }
+
+    private Mono<String> resumeFromJournal(String correlationId) {
+        return journal.load(correlationId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException(
+                        "No journal found for orchestration " + correlationId)))
+                .flatMap(state -> {
+                    // A journaled result with failed steps is not final: those steps are retried
+                    List<TaskOrchestrationResponse.SelectedSkill> steps = state.plan() == null || state.plan().selectedSkills() == null
+                            ? List.of() : state.plan().selectedSkills();
+                    boolean allStepsCompleted = steps.stream()
+                            .allMatch(step -> state.completedSteps().containsKey(step.stepId()));
+                    if (state.result() != null && allStepsCompleted) {
+                        log.info("[{}] Orchestration already completed, returning journaled result", correlationId);
+                        return Mono.just(state.result());
+                    }
+                    if (state.plan() != null) {
+                        log.info("[{}] Resuming plan with {}/{} steps already completed", correlationId,
+                                state.completedSteps().size(), steps.size());
+                        return dispatch(state.plan(), correlationId, state.completedSteps())
+                                .transform(workflow -> finishWorkflow(workflow, correlationId));
+                    }
+                    if (state.idea() == null) {
+                        return Mono.error(new IllegalStateException(
+                                "Journal of orchestration " + correlationId + " has no idea to resume from"));
+                    }
+                    return preparePlan(state.idea(), correlationId, state.metadata())
+                            .flatMap(plan -> dispatch(plan, correlationId))
+                            .transform(workflow -> finishWorkflow(workflow, correlationId));
+                });
+    }
+
+    private Mono<String> dispatch(TaskOrchestrationResponse response, String correlationId,
+                                  Map<String, String> completedSteps) {
+        log.info("[{}] Dispatching execution for orchestrated plan", correlationId);
+        return logOutcome(execution.dispatchAndExecuteTask(response, correlationId, completedSteps), correlationId);
+    }
+
+    private Mono<String> dispatch(PlanStream plan, String correlationId) {
+        log.info("[{}] Dispatching execution for orchestrated plan", correlationId);
+        return logOutcome(execution.dispatchStreamingTask(plan.steps(), plan.plan(), correlationId), correlationId);
+    }
+
+    private Mono<String> logOutcome(Mono<String> workflow, String correlationId) {
+        return workflow
+                .doOnNext(result ->
+                    log.info("[{}] Product development orchestration completed successfully", correlationId))
+                .doOnError(error ->
+                    log.error("[{}] Product development orchestration failed", correlationId, error));
+    }
+
+    private Mono<String> finishWorkflow(Mono<String> workflow, String correlationId) {
+        return workflow
+                .flatMap(result -> journal.appendCompleted(correlationId, result).thenReturn(result))
+                .doOnNext(result -> eventPublisher.publish(
+                    OrchestrationEvent.of(OrchestrationEvent.Type.COMPLETED, correlationId, result)))
+                .doOnError(error -> eventPublisher.publish(
+                    OrchestrationEvent.of(OrchestrationEvent.Type.FAILED, correlationId, error.getMessage())))
+                .doFinally(signal -> eventPublisher.complete(correlationId))
                 .onErrorMap(throwable ->
                     new RuntimeException("Product development orchestration failed", throwable));
     }
@@ -237,7 +405,21 @@ public class ProductIdeaWorkflowOrchestrator {
     }
 
     private String generateCorrelationId() {
-        return java.util.UUID.randomUUID().toString().substring(0, 8);
+        return java.util.UUID.randomUUID().toString();
+    }
+
+    /**
+     * A plan in the making: steps already complete on the planner stream (empty unless streaming) and
+     * the whole plan once known.
+     */
+    private record PlanStream(Flux<TaskOrchestrationResponse.SelectedSkill> steps,
+                              Mono<TaskOrchestrationResponse> plan) {
+    }
+
+    public static class ResumeInProgressException extends RuntimeException {
+        public ResumeInProgressException(String message) {
+            super(message);
+        }
     }
 
     // Fixed record name (was "skilId" -> "skillId")
@@ -247,6 +429,20 @@ public class ProductIdeaWorkflowOrchestrator {
             String agentUrl,
             String skillDescription,
             Double confidence,
-            String skillId) {
+            String skillId,
+            Double score) {
+
+        /** A discovered skill, not yet scored */
+        public A2AReceptionistSkill(String id, String agentName, String agentUrl, String skillDescription,
+                Double confidence, String skillId) {
+            this(id, agentName, agentUrl, skillDescription, confidence, skillId, null);
+        }
+
+        /**
+         * Confidence weighted by the live health of the agent; score() is null until a skill is scored.
+         */
+        public A2AReceptionistSkill withScore(double score) {
+            return new A2AReceptionistSkill(id, agentName, agentUrl, skillDescription, confidence, skillId, score);
+        }
     }
 }
@@ -0,0 +1,193 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator.A2AReceptionistSkill;
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse.SelectedSkill;
+import io.a2a.poc.agents.idea.util.PlannerPromptBuilder.UserTask;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deterministic planner for known combinations of the skill:* routing tags produced by metadata
+ * extraction. Rules are read from a JSON resource and tried in file order (most specific first); the
+ * first rule whose tags match and whose every step resolves to a catalog skill with enough confidence
+ * becomes the plan. Step agents and URLs come from the discovered catalog, step inputs are bound from
+ * the user task, and step priority, timeout and retries fall back to the defaults of the rule file.
+ * When no rule applies the caller falls back to the LLM planner.
+ */
+@Component
+@Slf4j
+public class RuleBasedPlanner {
+
+    @Value("${app.orchestration.rule-planner.enabled:true}")
+    private boolean enabled = true;
+
+    /** Classpath resource with the rules */
+    @Value("${app.orchestration.rule-planner.rules:PlannerRules.json}")
+    private String rulesResource = "PlannerRules.json";
+
+    /** Lowest catalog confidence of any step for a rule plan to be used */
+    @Value("${app.orchestration.rule-planner.min-confidence:0.5}")
+    private double minConfidence = 0.5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Rule> rules = List.of();
+    private StepDefaults defaults = StepDefaults.NONE;
+
+    private final AtomicLong planned = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final Map<String, AtomicLong> byRule = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        try (InputStream in = new ClassPathResource(rulesResource).getInputStream()) {
+            RuleSet ruleSet = objectMapper.readValue(in, RuleSet.class);
+            rules = ruleSet.rules() != null ? ruleSet.rules() : List.of();
+            defaults = ruleSet.defaults() != null ? ruleSet.defaults() : StepDefaults.NONE;
+            log.info("Loaded {} planner rules from {}", rules.size(), rulesResource);
+        } catch (IOException e) {
+            log.warn("Planner rules {} not usable, every plan goes to the LLM planner: {}", rulesResource,
+                    e.getMessage());
+            rules = List.of();
+            defaults = StepDefaults.NONE;
+        }
+    }
+
+    /**
+     * The plan of the first applicable rule, or empty when the LLM planner has to decide.
+     */
+    public Optional<TaskOrchestrationResponse> plan(List<String> requiredTags, List<A2AReceptionistSkill> catalog,
+            UserTask task, String correlationId) {
+        if (!enabled || rules.isEmpty() || requiredTags == null || requiredTags.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> tags = SkillDiscoveryCache.normalize(requiredTags).stream().collect(Collectors.toSet());
+        for (Rule rule : rules) {
+            if (!rule.matches(tags)) {
+                continue;
+            }
+            Optional<List<SelectedSkill>> steps = resolve(rule, catalog, task);
+            if (steps.isEmpty()) {
+                log.debug("[{}] Planner rule '{}' matched tags but not the catalog", correlationId, rule.name());
+                continue;
+            }
+            planned.incrementAndGet();
+            byRule.computeIfAbsent(rule.name(), name -> new AtomicLong()).incrementAndGet();
+            log.info("[{}] Plan with {} steps taken from planner rule '{}'", correlationId, steps.get().size(),
+                    rule.name());
+            return Optional.of(new TaskOrchestrationResponse(correlationId,
+                    TaskOrchestrationResponse.ExecutionMode.from(rule.executionMode()), steps.get(),
+                    "Planned by rule '" + rule.name() + "'", task));
+        }
+        fallbacks.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("rules", rules.size());
+        stats.put("rulePlans", planned.get());
+        stats.put("llmFallbacks", fallbacks.get());
+        stats.put("byRule", byRule.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get())));
+        return stats;
+    }
+
+    private Optional<List<SelectedSkill>> resolve(Rule rule, List<A2AReceptionistSkill> catalog, UserTask task) {
+        List<SelectedSkill> steps = new ArrayList<>();
+        for (RuleStep step : rule.steps()) {
+            Optional<A2AReceptionistSkill> skill = catalog.stream()
+                    .filter(candidate -> step.skillId().equals(candidate.skillId()))
+                    .filter(candidate -> step.agentName() == null || step.agentName().equals(candidate.agentName()))
+                    .filter(candidate -> candidate.agentUrl() != null)
+                    .filter(candidate -> candidate.confidence() != null && candidate.confidence() >= minConfidence)
+                    .max(Comparator.comparing(RuleBasedPlanner::rankingScore));
+            if (skill.isEmpty()) {
+                return Optional.empty();
+            }
+            Map<String, Object> input = new LinkedHashMap<>();
+            if (step.input() != null) {
+                step.input().forEach((name, source) -> input.put(name, PlanTemplateCache.boundValue(source, task)));
+            }
+            A2AReceptionistSkill resolved = skill.get();
+            steps.add(new SelectedSkill(step.stepId(), resolved.agentName(), URI.create(resolved.agentUrl()),
+                    resolved.skillId(), resolved.confidence(),
+                    step.priority() != null ? step.priority() : defaults.priority(),
+                    step.timeoutSec() != null ? step.timeoutSec() : defaults.timeoutSec(),
+                    step.retries() != null ? step.retries() : defaults.retries(),
+                    input, step.dependsOn() != null ? step.dependsOn() : List.of()));
+        }
+        return Optional.of(steps);
+    }
+
+    // Health-weighted score when the catalog was ranked, confidence otherwise
+    private static double rankingScore(A2AReceptionistSkill skill) {
+        return skill.score() != null ? skill.score() : skill.confidence();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record RuleSet(StepDefaults defaults, List<Rule> rules) {
+    }
+
+    /**
+     * Step settings of rules that do not set their own; what is missing here is left to the
+     * dispatcher's defaults, as for an LLM plan without them.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record StepDefaults(Integer priority, Integer timeoutSec, TaskOrchestrationResponse.Retries retries) {
+
+        static final StepDefaults NONE = new StepDefaults(null, null, null);
+    }
+
+    /**
+     * Applies when the document carries every tag of allTags; a rule without tags never applies.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Rule(String name, List<String> allTags, String executionMode, List<RuleStep> steps) {
+
+        boolean matches(Set<String> tags) {
+            return allTags != null && !allTags.isEmpty()
+                    && allTags.stream().map(Rule::normalize).allMatch(tags::contains)
+                    && steps != null && !steps.isEmpty();
+        }
+
+        private static String normalize(String tag) {
+            return tag.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * One plan step; input maps argument names to user task fields ("description", "title",
+     * "constraints.&lt;key&gt;").
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record RuleStep(String stepId, String skillId, String agentName, Map<String, String> input,
+            List<String> dependsOn, Integer priority, Integer timeoutSec, TaskOrchestrationResponse.Retries retries) {
+    }
+}
@@ -0,0 +1,219 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator.A2AReceptionistSkill;
+import io.a2a.poc.agents.idea.util.BoundedTtlCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Discovered skills by normalized receptionist query. The agent population changes rarely, so results
+ * are reused for a TTL instead of querying the receptionist on every orchestration; concurrent
+ * orchestrations with the same query share one in-flight call. The cached catalog is snapshotted to
+ * disk and restored at startup, so a cold orchestrator can plan before its first discovery round trip;
+ * restored queries are then refreshed in the background.
+ */
+@Component
+@Slf4j
+public class SkillDiscoveryCache {
+
+    @Value("${app.orchestration.discovery-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.orchestration.discovery-cache.max-entries:500}")
+    private int maxEntries = 500;
+
+    @Value("${app.orchestration.discovery-cache.ttl-minutes:60}")
+    private long ttlMinutes = 60;
+
+    /** Empty keeps the catalog in memory only */
+    @Value("${app.orchestration.discovery-cache.snapshot-file:data/discovery-catalog.json}")
+    private String snapshotFile = "data/discovery-catalog.json";
+
+    /** Tag sets discovered at startup even without a snapshot, e.g. "skill:create-product-idea;skill:compliance-check" */
+    @Value("${app.orchestration.discovery-cache.prefetch-tags:}")
+    private String prefetchTags = "";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<DiscoveryQuery, Mono<List<A2AReceptionistSkill>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private BoundedTtlCache<DiscoveryQuery, List<A2AReceptionistSkill>> catalog;
+
+    @PostConstruct
+    void init() {
+        catalog = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+        if (!enabled || !snapshotEnabled() || !Files.exists(Paths.get(snapshotFile))) {
+            return;
+        }
+        try {
+            List<SnapshotEntry> entries = objectMapper.readValue(Paths.get(snapshotFile).toFile(),
+                    new TypeReference<List<SnapshotEntry>>() {
+                    });
+            entries.stream()
+                    .filter(entry -> entry.skills() != null && !entry.skills().isEmpty())
+                    .forEach(entry -> catalog.put(entry.query(), entry.skills()));
+            log.info("Restored {} discovery results from {}", entries.size(), snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not restore discovery snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * The skills for the query, discovering them on a miss. Failed and empty discoveries are not cached:
+     * an empty result usually means the agents have not registered yet (e.g. right after start-up).
+     */
+    public Mono<List<A2AReceptionistSkill>> skillsFor(DiscoveryQuery query,
+            Function<DiscoveryQuery, Mono<List<A2AReceptionistSkill>>> discovery) {
+        if (!enabled) {
+            return discovery.apply(query);
+        }
+        return Mono.defer(() -> {
+            List<A2AReceptionistSkill> cached = catalog.get(query);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return inFlight.computeIfAbsent(query, key -> discovery.apply(key)
+                    .doOnNext(skills -> store(key, skills))
+                    .doFinally(signal -> inFlight.remove(key))
+                    .cache());
+        });
+    }
+
+    /**
+     * Discovers the configured prefetch tag sets and refreshes every cached query (e.g. restored from
+     * the snapshot) in the background.
+     */
+    public void prefetch(int maxResults, Function<DiscoveryQuery, Mono<List<A2AReceptionistSkill>>> discovery) {
+        if (!enabled) {
+            return;
+        }
+        Set<DiscoveryQuery> known = new LinkedHashSet<>(catalog.entries().keySet());
+        for (String tagSet : prefetchTags.split(";")) {
+            if (!tagSet.isBlank()) {
+                known.add(DiscoveryQuery.of(List.of(), List.of(tagSet.split(",")), maxResults));
+            }
+        }
+        if (known.isEmpty()) {
+            return;
+        }
+        log.info("Prefetching {} discovery queries", known.size());
+        Flux.fromIterable(known)
+                .flatMap(query -> discovery.apply(query)
+                        .filter(skills -> !skills.isEmpty())
+                        .doOnNext(skills -> {
+                            store(query, skills);
+                            prefetched.incrementAndGet();
+                        })
+                        .onErrorResume(error -> {
+                            log.warn("Could not refresh discovery for {}: {}", query, error.getMessage());
+                            return Mono.empty();
+                        }), 2)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe();
+    }
+
+    /** Drops all cached results, e.g. after agents were deployed or removed */
+    public void invalidate() {
+        catalog.clear();
+        invalidations.incrementAndGet();
+        writeSnapshot();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", catalog.size());
+        stats.put("hits", catalog.hits());
+        stats.put("misses", catalog.misses());
+        stats.put("hitRate", catalog.hitRate());
+        stats.put("prefetched", prefetched.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("snapshot", snapshotEnabled() ? snapshotFile : "disabled");
+        return stats;
+    }
+
+    private void store(DiscoveryQuery query, List<A2AReceptionistSkill> skills) {
+        if (skills.isEmpty()) {
+            return;
+        }
+        catalog.put(query, List.copyOf(skills));
+        if (snapshotEnabled()) {
+            Mono.fromRunnable(this::writeSnapshot).subscribeOn(Schedulers.boundedElastic()).subscribe();
+        }
+    }
+
+    private synchronized void writeSnapshot() {
+        if (!snapshotEnabled()) {
+            return;
+        }
+        List<SnapshotEntry> entries = new ArrayList<>();
+        catalog.entries().forEach((query, skills) -> entries.add(new SnapshotEntry(query, skills)));
+        try {
+            Path target = Paths.get(snapshotFile).toAbsolutePath();
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), "discovery", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), entries);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write discovery snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /** Trimmed, lower case, de-duplicated and sorted */
+    static List<String> normalize(List<String> values) {
+        return values.stream()
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private boolean snapshotEnabled() {
+        return snapshotFile != null && !snapshotFile.isBlank();
+    }
+
+    /**
+     * A receptionist query with keywords and tags normalized (trimmed, lower case, de-duplicated,
+     * sorted), so queries that differ only in order or case share a cache entry.
+     */
+    public record DiscoveryQuery(List<String> keywords, List<String> requiredTags, int maxResults) {
+
+        public static DiscoveryQuery of(List<String> keywords, List<String> requiredTags, int maxResults) {
+            return new DiscoveryQuery(
+                    keywords == null ? List.of() : normalize(keywords),
+                    requiredTags == null ? List.of() : normalize(requiredTags),
+                    maxResults);
+        }
+    }
+
+    private record SnapshotEntry(DiscoveryQuery query, List<A2AReceptionistSkill> skills) {
+    }
+}
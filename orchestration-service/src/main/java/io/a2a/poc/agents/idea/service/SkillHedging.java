@@ -0,0 +1,85 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hedging policy for slow skill invocations: once a call runs longer than the observed latency quantile
+ * of its skill, a duplicate may be sent to a replica agent. Hedges are paid from a token bucket that
+ * every primary call refills by budget-percent/100, which caps the extra load at that percentage.
+ */
+@Component
+@RequiredArgsConstructor
+public class SkillHedging {
+
+    private static final double MAX_TOKENS = 10.0;
+
+    @Value("${app.orchestration.hedging.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${app.orchestration.hedging.quantile:0.9}")
+    private double quantile = 0.9;
+
+    @Value("${app.orchestration.hedging.min-samples:20}")
+    private int minSamples = 20;
+
+    @Value("${app.orchestration.hedging.budget-percent:10}")
+    private double budgetPercent = 10;
+
+    private final SkillLatencyTracker latencyTracker;
+
+    private double tokens;
+    private final AtomicLong primaryCalls = new AtomicLong();
+    private final AtomicLong hedgesSent = new AtomicLong();
+    private final AtomicLong hedgesDenied = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    /**
+     * Delay after which a hedge should be sent, empty when hedging is off or the skill has too few samples.
+     */
+    public Optional<Duration> hedgeDelay(String agentName, String skillId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return latencyTracker.quantileMillis(agentName, skillId, quantile, minSamples).map(Duration::ofMillis);
+    }
+
+    public synchronized void recordPrimary() {
+        primaryCalls.incrementAndGet();
+        tokens = Math.min(MAX_TOKENS, tokens + budgetPercent / 100.0);
+    }
+
+    public synchronized boolean tryAcquireHedge() {
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            hedgesSent.incrementAndGet();
+            return true;
+        }
+        hedgesDenied.incrementAndGet();
+        return false;
+    }
+
+    public void recordHedgeWon() {
+        hedgesWon.incrementAndGet();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("quantile", quantile);
+        stats.put("budgetPercent", budgetPercent);
+        stats.put("primaryCalls", primaryCalls.get());
+        stats.put("hedgesSent", hedgesSent.get());
+        stats.put("hedgesDenied", hedgesDenied.get());
+        stats.put("hedgesWon", hedgesWon.get());
+        return stats;
+    }
+}
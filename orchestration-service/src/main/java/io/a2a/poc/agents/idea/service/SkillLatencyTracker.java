@@ -0,0 +1,176 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps observed latency of remote skill invocations per (agentName, skillId):
+ * an EWMA for cheap estimates and a rolling window of recent samples for quantiles.
+ * The windows are snapshotted to a small JSON file so learned statistics survive restarts.
+ */
+@Component
+@Slf4j
+public class SkillLatencyTracker {
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    @Value("${app.orchestration.latency.window-size:200}")
+    private int windowSize = 200;
+
+    @Value("${app.orchestration.latency.default-estimate-ms:60000}")
+    private long defaultEstimateMs = 60000;
+
+    /** Empty disables snapshots */
+    @Value("${app.orchestration.latency.snapshot-file:}")
+    private String snapshotFile = "";
+
+    @Value("${app.orchestration.latency.snapshot-every:50}")
+    private int snapshotEvery = 50;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong recorded = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @PostConstruct
+    void restoreSnapshot() {
+        if (!snapshotEnabled() || !Files.exists(Paths.get(snapshotFile))) {
+            return;
+        }
+        try {
+            Map<String, long[]> samples = objectMapper.readValue(Paths.get(snapshotFile).toFile(),
+                    new TypeReference<Map<String, long[]>>() {
+                    });
+            samples.forEach((key, values) -> {
+                LatencyWindow window = new LatencyWindow(windowSize);
+                for (long value : values) {
+                    window.add(value);
+                }
+                windows.put(key, window);
+            });
+            log.info("Restored latency statistics for {} skills from {}", samples.size(), snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not restore latency snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void saveSnapshot() {
+        if (!snapshotEnabled()) {
+            return;
+        }
+        Map<String, long[]> samples = new TreeMap<>();
+        windows.forEach((key, window) -> samples.put(key, window.samples()));
+        try {
+            Path target = Paths.get(snapshotFile).toAbsolutePath();
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), "latency", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), samples);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write latency snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    public void record(String agentName, String skillId, Duration latency) {
+        windows.computeIfAbsent(key(agentName, skillId), k -> new LatencyWindow(windowSize))
+                .add(latency.toMillis());
+        if (snapshotEnabled() && recorded.incrementAndGet() % snapshotEvery == 0) {
+            Mono.fromRunnable(this::saveSnapshot).subscribeOn(Schedulers.boundedElastic()).subscribe();
+        }
+    }
+
+    /**
+     * Expected latency of a skill; falls back to the configured default when nothing was observed yet.
+     */
+    public long expectedMillis(String agentName, String skillId) {
+        LatencyWindow window = windows.get(key(agentName, skillId));
+        return window != null && window.count() > 0 ? Math.round(window.ewma()) : defaultEstimateMs;
+    }
+
+    /**
+     * Latency quantile (0..1) over the rolling window, empty when fewer than minSamples were observed.
+     */
+    public Optional<Long> quantileMillis(String agentName, String skillId, double quantile, int minSamples) {
+        LatencyWindow window = windows.get(key(agentName, skillId));
+        if (window == null || window.count() < minSamples) {
+            return Optional.empty();
+        }
+        return Optional.of(window.quantile(quantile));
+    }
+
+    private boolean snapshotEnabled() {
+        return snapshotFile != null && !snapshotFile.isBlank();
+    }
+
+    static String key(String agentName, String skillId) {
+        return agentName + ":" + skillId;
+    }
+
+    /**
+     * Fixed-size ring buffer of samples plus EWMA, guarded by its own monitor.
+     */
+    static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int count;
+        private double ewma;
+
+        LatencyWindow(int size) {
+            this.samples = new long[Math.max(1, size)];
+        }
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            ewma = count == 1 ? millis : EWMA_ALPHA * millis + (1 - EWMA_ALPHA) * ewma;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized double ewma() {
+            return ewma;
+        }
+
+        /** Samples from oldest to newest */
+        synchronized long[] samples() {
+            long[] ordered = new long[count];
+            int start = count < samples.length ? 0 : next;
+            for (int i = 0; i < count; i++) {
+                ordered[i] = samples[(start + i) % samples.length];
+            }
+            return ordered;
+        }
+
+        synchronized long quantile(double quantile) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * count) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator.A2AReceptionistSkill;
+
+/**
+ * Remembers which discovered agents advertise each skill id, so the dispatcher can send a step to
+ * another agent with the same skill (hedging, rerouting) even though the plan names only one.
+ */
+@Component
+public class SkillReplicaRegistry {
+
+    private final Map<String, Set<Replica>> replicasBySkill = new ConcurrentHashMap<>();
+
+    public void register(List<A2AReceptionistSkill> skills) {
+        for (A2AReceptionistSkill skill : skills) {
+            if (skill.skillId() == null || skill.agentName() == null) {
+                continue;
+            }
+            replicasBySkill.computeIfAbsent(skill.skillId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(new Replica(skill.agentName(), skill.agentUrl()));
+        }
+    }
+
+    /**
+     * Other agents known to provide the skill, excluding the given one.
+     */
+    public List<Replica> alternatives(String skillId, String excludedAgentName) {
+        return replicasBySkill.getOrDefault(skillId, Set.of()).stream()
+                .filter(replica -> !Objects.equals(replica.agentName(), excludedAgentName))
+                .sorted((a, b) -> a.agentName().compareTo(b.agentName()))
+                .collect(Collectors.toList());
+    }
+
+    public record Replica(String agentName, String agentUrl) {
+    }
+}
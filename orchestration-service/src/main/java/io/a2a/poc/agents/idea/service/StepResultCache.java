@@ -0,0 +1,204 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.util.BoundedTtlCache;
+import io.a2a.poc.agents.idea.util.ContentHash;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Memoizes step results by (agentName, skillId, hash(consolidatedInput)), so re-running a plan on
+ * the same document skips steps whose inputs did not change. Entries live in a bounded in-memory
+ * LRU with TTL and, when a directory is configured, in an on-disk tier that survives restarts.
+ */
+@Component
+@Slf4j
+public class StepResultCache {
+
+    @Value("${app.orchestration.step-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.orchestration.step-cache.max-entries:500}")
+    private int maxEntries = 500;
+
+    @Value("${app.orchestration.step-cache.ttl-minutes:720}")
+    private long ttlMinutes = 720;
+
+    /** Empty disables the disk tier */
+    @Value("${app.orchestration.step-cache.dir:}")
+    private String directory = "";
+
+    private BoundedTtlCache<String, CachedResult> memory;
+
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+    // Bumped by clear(); disk reads and writes begun under an older generation are discarded
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        memory = new BoundedTtlCache<>(maxEntries, Duration.ofMinutes(ttlMinutes));
+        if (diskEnabled()) {
+            try {
+                Files.createDirectories(Paths.get(directory));
+            } catch (IOException e) {
+                log.warn("Step cache directory {} not usable, disk tier disabled: {}", directory, e.getMessage());
+                directory = "";
+            }
+        }
+    }
+
+    public static String key(String agentName, String skillId, List<String> consolidatedInput) {
+        List<String> parts = new ArrayList<>(consolidatedInput.size() + 2);
+        parts.add(agentName);
+        parts.add(skillId);
+        parts.addAll(consolidatedInput);
+        return ContentHash.sha256(parts);
+    }
+
+    /**
+     * Cached result for the key, empty on a miss.
+     */
+    public Mono<String> lookup(String key) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        CachedResult cached = memory.get(key);
+        if (cached != null) {
+            savedMillis.addAndGet(cached.latencyMs());
+            return Mono.just(cached.result());
+        }
+        if (!diskEnabled()) {
+            return Mono.empty();
+        }
+        long readGeneration = generation.get();
+        return Mono.fromCallable(() -> readFromDisk(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .filter(fromDisk -> generation.get() == readGeneration)
+                .doOnNext(fromDisk -> {
+                    diskHits.incrementAndGet();
+                    savedMillis.addAndGet(fromDisk.latencyMs());
+                    memory.put(key, fromDisk);
+                })
+                .map(CachedResult::result);
+    }
+
+    public void store(String key, String result, long latencyMs) {
+        if (!enabled) {
+            return;
+        }
+        CachedResult cached = new CachedResult(result, latencyMs);
+        memory.put(key, cached);
+        stores.incrementAndGet();
+        if (diskEnabled()) {
+            long writeGeneration = generation.get();
+            Mono.fromRunnable(() -> writeToDisk(key, cached, writeGeneration))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe();
+        }
+    }
+
+    /**
+     * Drops all entries from memory and from the disk tier, so cleared results are not read back.
+     */
+    public Mono<Void> clear() {
+        generation.incrementAndGet();
+        memory.clear();
+        if (!diskEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(this::deleteDiskEntries)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", memory.size());
+        stats.put("memoryHits", memory.hits());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", memory.misses() - diskHits.get());
+        stats.put("evictions", memory.evictions());
+        stats.put("stores", stores.get());
+        stats.put("savedAgentMillis", savedMillis.get());
+        stats.put("diskTier", diskEnabled() ? directory : "disabled");
+        return stats;
+    }
+
+    private boolean diskEnabled() {
+        return directory != null && !directory.isBlank();
+    }
+
+    private CachedResult readFromDisk(String key) throws IOException {
+        Path file = Paths.get(directory, key + ".txt");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        long ageMs = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+        if (ageMs > Duration.ofMinutes(ttlMinutes).toMillis()) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        int newline = content.indexOf('\n');
+        if (newline < 0) {
+            return null;
+        }
+        return new CachedResult(content.substring(newline + 1), Long.parseLong(content.substring(0, newline).trim()));
+    }
+
+    private void writeToDisk(String key, CachedResult cached, long writeGeneration) {
+        Path file = Paths.get(directory, key + ".txt");
+        try {
+            // Write-then-rename so a concurrent reader never sees a partial entry
+            Path tmp = Files.createTempFile(Paths.get(directory), key, ".tmp");
+            Files.writeString(tmp, cached.latencyMs() + "\n" + cached.result(), StandardCharsets.UTF_8);
+            if (generation.get() != writeGeneration) {
+                // The cache was cleared meanwhile
+                Files.deleteIfExists(tmp);
+                return;
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write step cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void deleteDiskEntries() {
+        try (Stream<Path> files = Files.list(Paths.get(directory))) {
+            files.filter(file -> file.getFileName().toString().endsWith(".txt"))
+                    .forEach(file -> {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            log.warn("Failed to delete step cache entry {}: {}", file, e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Failed to clear step cache directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private record CachedResult(String result, long latencyMs) {
+    }
+}
@@ -0,0 +1,319 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.util.OrchestrationContext;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Hands out a limited number of agent invocation slots shared by all running orchestrations.
+ * Ready steps are queued per tenant (taken from the Reactor context) and tenants are served by
+ * deficit round-robin in proportion to their weight, so one large batch cannot starve interactive
+ * users. Within a tenant, steps are ordered by plan priority (1 = highest) and then by the longest
+ * remaining path to the end of their plan, so critical-path work and high-priority plans go first.
+ */
+@Component
+@Slf4j
+public class StepScheduler {
+
+    private static final int DEFAULT_PRIORITY = 3;
+
+    private static final Comparator<PendingStep<?>> READY_ORDER = Comparator
+            .<PendingStep<?>>comparingInt(p -> p.ticket.priority())
+            .thenComparing(p -> p.ticket.remainingPathMs(), Comparator.reverseOrder())
+            .thenComparingLong(p -> p.sequence);
+
+    @Value("${app.orchestration.scheduler.max-concurrent-steps:16}")
+    private int maxConcurrentSteps = 16;
+
+    /** Tenant of orchestrations that do not name one */
+    @Value("${app.orchestration.scheduler.default-tenant:default}")
+    private String defaultTenant = "default";
+
+    @Value("${app.orchestration.scheduler.default-weight:1}")
+    private double defaultWeight = 1;
+
+    /** Per-tenant weights, e.g. "interactive=4,batch=1"; a weight sent with the request wins */
+    @Value("${app.orchestration.scheduler.tenant-weights:}")
+    private String tenantWeights = "";
+
+    private Map<String, Double> weightsByTenant = Map.of();
+
+    private final Object lock = new Object();
+    private final Map<String, TenantQueue> tenants = new HashMap<>();
+    // Tenants with queued steps, in round-robin order
+    private final Deque<TenantQueue> activeTenants = new ArrayDeque<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private int running;
+    private int queued;
+
+    // Malformed weights fail at startup rather than inside a running step
+    @PostConstruct
+    void init() {
+        weightsByTenant = parseTenantWeights(tenantWeights);
+    }
+
+    /**
+     * Runs the work once a slot is free and the step is at the head of the ready queue.
+     * Cancelling the returned Mono removes a waiting step or cancels a running one.
+     */
+    public <T> Mono<T> schedule(StepTicket ticket, Supplier<Mono<T>> work) {
+        return Mono.create(sink -> {
+            String tenantId = OrchestrationContext.tenant(sink.contextView()).orElse(defaultTenant);
+            double weight = OrchestrationContext.tenantWeight(sink.contextView()).orElseGet(() -> weightOf(tenantId));
+            synchronized (lock) {
+                TenantQueue tenant = tenants.computeIfAbsent(tenantId, TenantQueue::new);
+                tenant.weight = Double.isFinite(weight) && weight > 0 ? Math.max(0.01, weight) : defaultWeight;
+                PendingStep<T> pending = new PendingStep<>(tenant, ticket, sequence.incrementAndGet(), work, sink);
+                sink.onCancel(() -> cancel(pending));
+                if (tenant.queue.isEmpty()) {
+                    activeTenants.addLast(tenant);
+                }
+                tenant.queue.add(pending);
+                queued++;
+            }
+            drain();
+        });
+    }
+
+    public int queuedSteps() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    public int runningSteps() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    /**
+     * Per-tenant queue depth, running steps, weight and time spent waiting for a slot, for tenants with
+     * queued or running steps.
+     */
+    public Map<String, Map<String, Object>> tenantStats() {
+        synchronized (lock) {
+            Map<String, Map<String, Object>> stats = new TreeMap<>();
+            tenants.forEach((id, tenant) -> stats.put(id, tenant.stats()));
+            return stats;
+        }
+    }
+
+    private void drain() {
+        List<PendingStep<?>> toStart = new ArrayList<>();
+        synchronized (lock) {
+            while (running < maxConcurrentSteps) {
+                PendingStep<?> next = nextFairStep();
+                if (next == null) {
+                    break;
+                }
+                running++;
+                next.tenant.running++;
+                toStart.add(next);
+            }
+        }
+        toStart.forEach(this::start);
+    }
+
+    /**
+     * Deficit round-robin: the tenant at the head earns its weight in credit whenever it runs out, each
+     * dispatched step costs one credit, and a tenant without credit goes to the back of the line.
+     */
+    private PendingStep<?> nextFairStep() {
+        while (!activeTenants.isEmpty()) {
+            TenantQueue tenant = activeTenants.peekFirst();
+            if (tenant.queue.isEmpty()) {
+                activeTenants.pollFirst();
+                tenant.deficit = 0;
+                evictIfIdle(tenant);
+                continue;
+            }
+            if (tenant.deficit < 1) {
+                tenant.deficit += tenant.weight;
+                activeTenants.addLast(activeTenants.pollFirst());
+                continue;
+            }
+            PendingStep<?> next = tenant.queue.poll();
+            queued--;
+            if (tenant.queue.isEmpty()) {
+                activeTenants.pollFirst();
+                tenant.deficit = 0;
+            }
+            tenant.deficit -= 1;
+            return next;
+        }
+        return null;
+    }
+
+    /**
+     * Drops the queue of a tenant with nothing queued or running, so tenant ids do not accumulate;
+     * its statistics go with it. Called under the lock.
+     */
+    private void evictIfIdle(TenantQueue tenant) {
+        if (tenant.queue.isEmpty() && tenant.running == 0) {
+            tenants.remove(tenant.id, tenant);
+        }
+    }
+
+    /**
+     * A waiting step leaves its tenant's queue at once, so it no longer counts as queued; a running
+     * step has its work cancelled.
+     */
+    private void cancel(PendingStep<?> pending) {
+        synchronized (lock) {
+            pending.cancelled = true;
+            TenantQueue tenant = pending.tenant;
+            if (tenant.queue.remove(pending)) {
+                queued--;
+                if (tenant.queue.isEmpty()) {
+                    activeTenants.remove(tenant);
+                    tenant.deficit = 0;
+                    evictIfIdle(tenant);
+                }
+            }
+        }
+        Disposable current = pending.inFlight;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private double weightOf(String tenantId) {
+        return weightsByTenant.getOrDefault(tenantId, defaultWeight);
+    }
+
+    private static Map<String, Double> parseTenantWeights(String weights) {
+        Map<String, Double> parsed = new HashMap<>();
+        if (weights == null || weights.isBlank()) {
+            return parsed;
+        }
+        for (String entry : weights.split(",")) {
+            String[] pair = entry.split("=");
+            double weight = pair.length == 2 ? parseWeight(pair[1].trim()) : 0;
+            if (!(weight > 0) || Double.isInfinite(weight) || pair[0].isBlank()) {
+                throw new IllegalStateException("Invalid app.orchestration.scheduler.tenant-weights entry: " + entry.trim());
+            }
+            parsed.put(pair[0].trim(), weight);
+        }
+        return parsed;
+    }
+
+    private static double parseWeight(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private <T> void start(PendingStep<T> pending) {
+        long waitedMs = System.currentTimeMillis() - pending.enqueuedAt;
+        log.debug("Starting step {} of tenant {} (priority {}, remaining path {} ms) after {} ms in queue",
+                pending.ticket.stepId(), pending.tenant.id, pending.ticket.priority(),
+                pending.ticket.remainingPathMs(), waitedMs);
+        pending.tenant.recordWait(waitedMs);
+
+        // The work runs in its own subscription; it keeps the caller's context (deadline, tenant, correlation)
+        pending.inFlight = Mono.defer(pending.work)
+                .contextWrite(pending.sink.contextView())
+                .doFinally(signal -> {
+                    synchronized (lock) {
+                        running--;
+                        pending.tenant.running--;
+                        evictIfIdle(pending.tenant);
+                    }
+                    drain();
+                })
+                .subscribe(pending.sink::success, pending.sink::error, pending.sink::success);
+        if (pending.cancelled) {
+            pending.inFlight.dispose();
+        }
+    }
+
+    /**
+     * Scheduling attributes of one plan step.
+     */
+    public record StepTicket(String taskId, String stepId, int priority, long remainingPathMs) {
+
+        public static StepTicket of(String taskId, String stepId, Integer priority, long remainingPathMs) {
+            return new StepTicket(taskId, stepId, priority != null ? priority : DEFAULT_PRIORITY, remainingPathMs);
+        }
+    }
+
+    /**
+     * Ready steps and fairness state of one tenant; guarded by the scheduler lock.
+     */
+    private static final class TenantQueue {
+        private final String id;
+        private final PriorityQueue<PendingStep<?>> queue = new PriorityQueue<>(READY_ORDER);
+        private double weight = 1;
+        private double deficit;
+        private int running;
+        private long dispatched;
+        private long totalWaitMs;
+        private long maxWaitMs;
+
+        TenantQueue(String id) {
+            this.id = id;
+        }
+
+        void recordWait(long waitedMs) {
+            synchronized (this) {
+                dispatched++;
+                totalWaitMs += waitedMs;
+                maxWaitMs = Math.max(maxWaitMs, waitedMs);
+            }
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("weight", weight);
+            stats.put("queued", queue.size());
+            stats.put("running", running);
+            synchronized (this) {
+                stats.put("dispatched", dispatched);
+                stats.put("avgWaitMs", dispatched == 0 ? 0 : totalWaitMs / dispatched);
+                stats.put("maxWaitMs", maxWaitMs);
+            }
+            return stats;
+        }
+    }
+
+    private static final class PendingStep<T> {
+        private final TenantQueue tenant;
+        private final StepTicket ticket;
+        private final long sequence;
+        private final long enqueuedAt = System.currentTimeMillis();
+        private final Supplier<Mono<T>> work;
+        private final MonoSink<T> sink;
+        private volatile boolean cancelled;
+        private volatile Disposable inFlight;
+
+        PendingStep(TenantQueue tenant, StepTicket ticket, long sequence, Supplier<Mono<T>> work, MonoSink<T> sink) {
+            this.tenant = tenant;
+            this.ticket = ticket;
+            this.sequence = sequence;
+            this.work = work;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.a2a.poc.agents.idea.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Derives the per-attempt timeout of a step from the latency observed for its (agentName, skillId):
+ * a configurable quantile times a headroom factor. The planner's timeoutSec (or the default) is only
+ * an upper bound; until enough samples exist that bound is used as is.
+ */
+@Component
+@RequiredArgsConstructor
+public class StepTimeoutPolicy {
+
+    @Value("${app.orchestration.timeout.default-sec:120}")
+    private int defaultTimeoutSec = 120;
+
+    @Value("${app.orchestration.timeout.min-sec:10}")
+    private int minTimeoutSec = 10;
+
+    @Value("${app.orchestration.timeout.quantile:0.99}")
+    private double quantile = 0.99;
+
+    @Value("${app.orchestration.timeout.headroom:1.5}")
+    private double headroom = 1.5;
+
+    @Value("${app.orchestration.timeout.min-samples:20}")
+    private int minSamples = 20;
+
+    private final SkillLatencyTracker latencyTracker;
+
+    public Duration timeoutFor(TaskOrchestrationResponse.SelectedSkill skill) {
+        Duration upperBound = Duration.ofSeconds(skill.timeoutSec() != null && skill.timeoutSec() > 0
+                ? skill.timeoutSec()
+                : defaultTimeoutSec);
+
+        return latencyTracker.quantileMillis(skill.agentName(), skill.skillId(), quantile, minSamples)
+                .map(observed -> Duration.ofMillis(Math.round(observed * headroom)))
+                .map(learned -> learned.compareTo(Duration.ofSeconds(minTimeoutSec)) < 0
+                        ? Duration.ofSeconds(minTimeoutSec)
+                        : learned)
+                .map(learned -> learned.compareTo(upperBound) < 0 ? learned : upperBound)
+                .orElse(upperBound);
+    }
+}
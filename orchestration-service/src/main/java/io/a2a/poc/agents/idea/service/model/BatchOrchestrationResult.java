@@ -0,0 +1,30 @@
+package io.a2a.poc.agents.idea.service.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a batch orchestration: one entry per submitted document, in submission order, plus
+ * throughput figures.
+ */
+public record BatchOrchestrationResult(
+        String batchId,
+        int documents,
+        long succeeded,
+        long failed,
+        long elapsedMs,
+        double documentsPerHour,
+        List<DocumentResult> results
+) {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record DocumentResult(
+            int index,
+            String correlationId,
+            boolean success,
+            long durationMs,
+            String result,
+            String error
+    ) {
+    }
+}
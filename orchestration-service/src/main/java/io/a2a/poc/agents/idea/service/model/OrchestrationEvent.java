@@ -0,0 +1,31 @@
+package io.a2a.poc.agents.idea.service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Progress event of one orchestration, streamed to clients while the workflow runs.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrchestrationEvent(
+        Type type,
+        String correlationId,
+        String stepId,
+        String agentName,
+        String skillId,
+        Object payload,
+        long timestamp
+) {
+    public enum Type {
+        METADATA_EXTRACTED, PLAN_CREATED, STEP_STARTED, STEP_COMPLETED, STEP_FAILED, STEP_SKIPPED, COMPLETED, FAILED
+    }
+
+    public static OrchestrationEvent of(Type type, String correlationId, Object payload) {
+        return new OrchestrationEvent(type, correlationId, null, null, null, payload, System.currentTimeMillis());
+    }
+
+    public static OrchestrationEvent step(Type type, String correlationId, TaskOrchestrationResponse.SelectedSkill skill,
+            Object payload) {
+        return new OrchestrationEvent(type, correlationId, skill.stepId(), skill.agentName(), skill.skillId(), payload,
+                System.currentTimeMillis());
+    }
+}
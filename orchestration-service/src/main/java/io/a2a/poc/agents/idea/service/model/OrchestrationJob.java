@@ -0,0 +1,63 @@
+package io.a2a.poc.agents.idea.service.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Snapshot of an asynchronously running orchestration; the job id is the orchestration's correlation id.
+ * Immutable, every change produces a new snapshot.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrchestrationJob(
+        String jobId,
+        Status status,
+        long createdAt,
+        long updatedAt,
+        Map<String, StepStatus> steps,
+        String result,
+        String error
+) {
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    public record StepStatus(String stepId, String agentName, String skillId, String status, String output) {
+    }
+
+    public static OrchestrationJob submitted(String jobId) {
+        long now = System.currentTimeMillis();
+        return new OrchestrationJob(jobId, Status.PENDING, now, now, new LinkedHashMap<>(), null, null);
+    }
+
+    public OrchestrationJob withStatus(Status newStatus) {
+        return new OrchestrationJob(jobId, newStatus, createdAt, System.currentTimeMillis(), steps, result, error);
+    }
+
+    public OrchestrationJob withStep(StepStatus step) {
+        Map<String, StepStatus> updated = new LinkedHashMap<>(steps);
+        updated.put(step.stepId(), step);
+        Status newStatus = status == Status.PENDING ? Status.RUNNING : status;
+        return new OrchestrationJob(jobId, newStatus, createdAt, System.currentTimeMillis(), updated, result, error);
+    }
+
+    public OrchestrationJob completed(String finalResult) {
+        return new OrchestrationJob(jobId, Status.COMPLETED, createdAt, System.currentTimeMillis(), steps,
+                finalResult, null);
+    }
+
+    public OrchestrationJob failed(String failure) {
+        return new OrchestrationJob(jobId, Status.FAILED, createdAt, System.currentTimeMillis(), steps, null, failure);
+    }
+
+    @JsonIgnore
+    public boolean isTerminal() {
+        return status.isTerminal();
+    }
+}
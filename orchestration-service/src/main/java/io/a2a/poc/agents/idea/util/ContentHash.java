@@ -0,0 +1,41 @@
+package io.a2a.poc.agents.idea.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 content fingerprints used as cache and journal keys.
+ */
+public final class ContentHash {
+
+    private ContentHash() {}
+
+    public static String sha256(String content) {
+        return sha256(List.of(content));
+    }
+
+    /**
+     * Hash of an ordered list of parts; parts are length-prefixed so ["ab","c"] and ["a","bc"] differ.
+     */
+    public static String sha256(List<String> parts) {
+        MessageDigest digest = newDigest();
+        for (String part : parts) {
+            byte[] bytes = (part == null ? "" : part).getBytes(StandardCharsets.UTF_8);
+            digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(bytes);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package io.a2a.poc.agents.idea.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads the JSON object of an LLM reply, repairing the usual malformations when the strict parse
+ * fails: prose or code fences around the object, // and block comments copied from the prompt schema,
+ * trailing commas, missing commas between members, a stray quote before a closing bracket (as in the
+ * extraction prompt's own example), raw control characters inside strings and output cut off before
+ * the closing brackets. The repair is one pass over the reply into a single buffer.
+ */
+public class LenientJsonParser {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong clean = new AtomicLong();
+    private final AtomicLong repaired = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public LenientJsonParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The reply as a map, or {"raw": reply} when even the repaired text is not a JSON object.
+     */
+    public Map<String, Object> parseObject(String reply) {
+        if (reply == null) {
+            failed.incrementAndGet();
+            return Map.of("raw", "");
+        }
+        try {
+            Map<String, Object> parsed = objectMapper.readValue(reply, MAP_TYPE);
+            clean.incrementAndGet();
+            return parsed;
+        } catch (JsonProcessingException e) {
+            // fall through to the repair
+        }
+        try {
+            Map<String, Object> parsed = objectMapper.readValue(repair(reply), MAP_TYPE);
+            repaired.incrementAndGet();
+            return parsed;
+        } catch (JsonProcessingException e) {
+            failed.incrementAndGet();
+            return Map.of("raw", reply);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clean", clean.get());
+        stats.put("repaired", repaired.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    /**
+     * Best-effort well-formed version of the first JSON object in the text; the text itself when it
+     * contains no object.
+     */
+    public static String repair(String text) {
+        int start = text.indexOf('{');
+        if (start < 0) {
+            return text;
+        }
+        int length = text.length();
+        StringBuilder out = new StringBuilder(length - start + 16);
+        StringBuilder open = new StringBuilder();
+        boolean inString = false;
+        boolean escaped = false;
+
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                    out.append(c);
+                } else if (c == '\\') {
+                    escaped = true;
+                    out.append(c);
+                } else if (c == '"') {
+                    inString = false;
+                    out.append(c);
+                } else if (c < 0x20) {
+                    appendEscaped(out, c);
+                } else {
+                    out.append(c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    char previous = lastSignificant(out);
+                    int next = skipWhitespace(text, i + 1);
+                    if (previous != ':' && (next == length || text.charAt(next) == '}' || text.charAt(next) == ']')) {
+                        // A quote with nothing to enclose before the bracket closes
+                        continue;
+                    }
+                    if (endsValue(previous)) {
+                        out.append(',');
+                    }
+                    inString = true;
+                    out.append(c);
+                }
+                case '{', '[' -> {
+                    if (endsValue(lastSignificant(out))) {
+                        out.append(',');
+                    }
+                    open.append(c == '{' ? '}' : ']');
+                    out.append(c);
+                }
+                case '}', ']' -> {
+                    dropTrailingComma(out);
+                    if (open.length() > 0) {
+                        out.append(open.charAt(open.length() - 1));
+                        open.setLength(open.length() - 1);
+                    }
+                    if (open.length() == 0) {
+                        // The object is complete; whatever follows (closing fence, prose) is not JSON
+                        return out.toString();
+                    }
+                }
+                case '/' -> {
+                    if (i + 1 < length && text.charAt(i + 1) == '/') {
+                        int end = text.indexOf('\n', i);
+                        i = end < 0 ? length : end;
+                    } else if (i + 1 < length && text.charAt(i + 1) == '*') {
+                        int end = text.indexOf("*/", i + 2);
+                        i = end < 0 ? length : end + 1;
+                    } else {
+                        out.append(c);
+                    }
+                }
+                case '`' -> {
+                    // Fence characters are never part of a JSON token
+                }
+                default -> {
+                    // A number or literal starting after whitespace that follows a complete value
+                    boolean startsToken = Character.isDigit(c) || c == '-' || c == 't' || c == 'f' || c == 'n';
+                    if (startsToken && out.length() > 0 && Character.isWhitespace(out.charAt(out.length() - 1))
+                            && endsValue(lastSignificant(out))) {
+                        out.append(',');
+                    }
+                    out.append(c);
+                }
+            }
+        }
+
+        // Cut off mid-reply: close what is still open
+        if (inString) {
+            if (escaped) {
+                out.setLength(out.length() - 1);
+            }
+            out.append('"');
+        }
+        if (lastSignificant(out) == ':') {
+            out.append("null");
+        }
+        dropTrailingComma(out);
+        for (int i = open.length() - 1; i >= 0; i--) {
+            out.append(open.charAt(i));
+        }
+        return out.toString();
+    }
+
+    // True when the character closes a complete value: a string, object, array, number or literal
+    private static boolean endsValue(char c) {
+        return c == '"' || c == '}' || c == ']' || Character.isDigit(c) || c == 'e' || c == 'l';
+    }
+
+    private static char lastSignificant(StringBuilder out) {
+        for (int i = out.length() - 1; i >= 0; i--) {
+            if (!Character.isWhitespace(out.charAt(i))) {
+                return out.charAt(i);
+            }
+        }
+        return 0;
+    }
+
+    private static void dropTrailingComma(StringBuilder out) {
+        int i = out.length() - 1;
+        while (i >= 0 && Character.isWhitespace(out.charAt(i))) {
+            i--;
+        }
+        if (i >= 0 && out.charAt(i) == ',') {
+            out.deleteCharAt(i);
+        }
+    }
+
+    private static int skipWhitespace(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void appendEscaped(StringBuilder out, char c) {
+        switch (c) {
+            case '\n' -> out.append("\\n");
+            case '\r' -> out.append("\\r");
+            case '\t' -> out.append("\\t");
+            default -> out.append(String.format("\\u%04x", (int) c));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.a2a.poc.agents.idea.util;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactor context keys carried by an orchestration from the controller down to every step and LLM call.
+ */
+public final class OrchestrationContext {
+
+    /** Absolute deadline of the whole orchestration, epoch millis */
+    public static final String DEADLINE = "orchestration.deadline";
+
+    /** Tenant the orchestration's steps are queued under for fair scheduling */
+    public static final String TENANT = "orchestration.tenant";
+
+    /** Scheduling weight requested for the tenant, overrides the configured one */
+    public static final String TENANT_WEIGHT = "orchestration.tenantWeight";
+
+    private OrchestrationContext() {
+    }
+
+    public static Context withDeadline(Context context, long deadlineEpochMs) {
+        return context.put(DEADLINE, deadlineEpochMs);
+    }
+
+    public static Optional<String> tenant(ContextView context) {
+        return context.getOrEmpty(TENANT);
+    }
+
+    public static Optional<Double> tenantWeight(ContextView context) {
+        return context.getOrEmpty(TENANT_WEIGHT);
+    }
+
+    public static Optional<Long> deadline(ContextView context) {
+        return context.getOrEmpty(DEADLINE);
+    }
+
+    /**
+     * Time left until the deadline (negative once passed), empty when the orchestration has none.
+     */
+    public static Optional<Duration> remaining(ContextView context) {
+        return deadline(context).map(deadline -> Duration.ofMillis(deadline - System.currentTimeMillis()));
+    }
+
+    public static boolean isExpired(ContextView context) {
+        return remaining(context).map(left -> left.isNegative() || left.isZero()).orElse(false);
+    }
+
+    /**
+     * The given timeout, shortened so it does not outlive the deadline.
+     */
+    public static Duration clip(Duration timeout, ContextView context) {
+        return remaining(context)
+                .map(left -> left.compareTo(timeout) < 0 ? Duration.ofMillis(Math.max(1, left.toMillis())) : timeout)
+                .orElse(timeout);
+    }
+
+    public static class DeadlineExceededException extends RuntimeException {
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.a2a.poc.agents.idea.util;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
@@ -98,6 +100,94 @@ public class PlannerPromptBuilder {
                 }
         }
 
+        /** Catalog rendering of the planner prompt */
+        public enum PromptFormat {
+                /** Indented JSON catalog, included twice */
+                JSON,
+                /** Catalog once, as an agent legend plus one pipe-separated row per skill */
+                COMPACT
+        }
+
+        private static final String COMPACT_TEMPLATE = """
+                        You are a planner that selects the best agent skills to fulfill a user task.
+                        Use ONLY skills from the catalog below; when in doubt prefer fewer, high-confidence skills.
+                        Output valid JSON only, conforming to:
+                        {"taskId":"string","executionMode":"sequential | parallel","selectedSkills":[{"stepId":"string","agentName":"string","agentUrl":"string","skillId":"string","confidence":0.0,"priority":1,"timeoutSec":0,"retries":{"maxAttempts":0,"backoffSec":0},"input":{"key":"value"},"dependsOn":["stepId"]}],"reason":"string (optional; empty if skills selected)"}
+
+                        Rules:
+                        1. Do not invent skills, agents, or URLs. Expand the agent key of a row into its agentName and agentUrl from the agent legend.
+                        2. Respect the minimum confidence threshold: {{MIN_CONFIDENCE_FLOAT}}.
+                        3. If multiple skills are needed, set "executionMode" to "sequential" or "parallel"; reference prior steps by "stepId" in "dependsOn".
+                        4. "input" holds minimal structured arguments taken from the task and must contain at least one non-empty key/value pair.
+                        5. Set "priority" (1-5, 1 = highest) and "timeoutSec" (default 120); retries default to {"maxAttempts":2,"backoffSec":3}.
+                        6. If no suitable skill exists, return an empty "selectedSkills" array and a non-empty "reason".
+
+                        User task:
+                        {{USER_TASK_JSON}}
+
+                        Agents (key=agentName@agentUrl):
+                        {{AGENTS}}
+
+                        Skills, best first by confidence and agent health (columns: skillId|agent key|confidence|description):
+                        {{SKILLS_TABLE}}
+
+                        Return JSON only.
+                        """;
+
+        private static final ObjectMapper COMPACT_MAPPER = new ObjectMapper()
+                        .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        public static String build(UserTask userTask, List<A2AReceptionistSkill> skillsCatalog, double minConfidence,
+                        PromptFormat format) {
+                return format == PromptFormat.COMPACT
+                                ? buildCompact(userTask, skillsCatalog, minConfidence)
+                                : build(userTask, skillsCatalog, minConfidence);
+        }
+
+        /**
+         * Build the planner prompt with the catalog rendered once in the tabular form described by
+         * the template legend; agents are listed once and referenced by a short key.
+         */
+        public static String buildCompact(UserTask userTask, List<A2AReceptionistSkill> skillsCatalog,
+                        double minConfidence) {
+                Objects.requireNonNull(userTask, "userTask");
+                Objects.requireNonNull(skillsCatalog, "skillsCatalog");
+
+                try {
+                        Map<String, String> agentKeys = new LinkedHashMap<>();
+                        StringBuilder agents = new StringBuilder();
+                        StringBuilder skills = new StringBuilder();
+                        for (A2AReceptionistSkill skill : skillsCatalog) {
+                                String agent = skill.agentName() + "@" + skill.agentUrl();
+                                String key = agentKeys.get(agent);
+                                if (key == null) {
+                                        key = "A" + (agentKeys.size() + 1);
+                                        agentKeys.put(agent, key);
+                                        agents.append(key).append('=').append(agent).append('\n');
+                                }
+                                skills.append(cell(skill.skillId())).append('|')
+                                                .append(key).append('|')
+                                                .append(skill.confidence() == null ? ""
+                                                                : String.format(Locale.ROOT, "%.2f", skill.confidence()))
+                                                .append('|')
+                                                .append(cell(skill.skillDescription())).append('\n');
+                        }
+
+                        return COMPACT_TEMPLATE
+                                        .replace("{{USER_TASK_JSON}}", COMPACT_MAPPER.writeValueAsString(userTask))
+                                        .replace("{{AGENTS}}", agents.toString().stripTrailing())
+                                        .replace("{{SKILLS_TABLE}}", skills.toString().stripTrailing())
+                                        .replace("{{MIN_CONFIDENCE_FLOAT}}", Double.toString(minConfidence));
+                } catch (Exception e) {
+                        throw new IllegalStateException("Failed to render planner prompt", e);
+                }
+        }
+
+        // Keeps one skill per row: the column separator and line breaks cannot appear inside a cell
+        private static String cell(String value) {
+                return value == null ? "" : value.replace('|', '/').replaceAll("\\s+", " ").trim();
+        }
+
         public record UserTask(
                         String title,
                         String description,
@@ -174,39 +264,4 @@ public class PlannerPromptBuilder {
                         throw new IllegalStateException("Failed to render planner prompt", e);
                 }
         }
-
-        // === Example usage (plain Java) ===
-        public static void main(String[] args) {
-                List<A2AReceptionistSkill> catalog = List.of(
-                                new A2AReceptionistSkill("analyze-legislation", "IdeaCreatorAgent",
-                                                "http://localhost:8081",
-                                                "Uses AI to analyze government legislation and identify banking opportunities",
-                                                0.8305, "analyze-legislation"),
-                                new A2AReceptionistSkill("create-product-idea", "IdeaCreatorAgent",
-                                                "http://localhost:8081",
-                                                "Uses AI to formulate detailed banking product propositions based on opportunities",
-                                                0.8305, "create-product-idea"),
-                                new A2AReceptionistSkill("comprehensive-product-critique", "IdeaCriticAgent",
-                                                "http://localhost:8083",
-                                                "Uses AI to provide thorough critical analysis of banking product ideas",
-                                                0.610775, "comprehensive-product-critique"));
-
-                UserTask task = new UserTask(
-                                "Draft a new retail savings product from fresh legislation",
-                                "Analyze the new consumer credit amendment 2025 and propose a product idea suitable for millennials.",
-                                Map.of("country", "PL", "segment", "millennials"));
-
-                String prompt = PlannerPromptBuilder.build(task, catalog, 0.7);
-                System.out.println(prompt);
-
-                String documentSummary = """
-                                The document is a citizens’ legislative initiative submitted to the Polish Sejm in June 2025. It proposes amendments to the Education System Act (1991) and the Education Law (2016) concerning the teaching of religion and ethics in schools. The core change is the introduction of mandatory religion or ethics classes (two hours per week) in preschools, primary and secondary schools, and art schools (excluding adult schools). Parents or adult students will be required to choose between religion and ethics, with the choice declared annually.
-                                The proposal defines organizational rules (minimum of 7 students per class, possibility of interschool groups, group size limits), teacher qualifications (appointed by religious authorities in consultation with the Ministry of Education), and evaluation principles (grades count toward GPA and promotion). It also includes provisions on retreats (rekolekcje), the role of religion teachers in the school community, supervision and inspections, and the presence of religious symbols such as the cross.
-                                The justification stresses the importance of moral and ethical education for youth development, invoking constitutional guarantees (Art. 53), cultural heritage, and international comparisons (Austria, Belgium, Lithuania, etc.). It argues for stabilizing these provisions at the statutory level rather than ministerial regulations to prevent ad hoc policy changes. The financial impact is estimated at about 141.7 million PLN annually, mainly due to the need for additional ethics teachers. The law is intended to enter into force on 1 September 2025.
-                                """;
-                String skillsPrompt = buildSkillsPrompt(documentSummary);
-                System.out.println("====================");
-                System.out.println(skillsPrompt);
-
-        }
-}
\ No newline at end of file
+}
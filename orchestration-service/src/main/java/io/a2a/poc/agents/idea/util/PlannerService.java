@@ -6,10 +6,9 @@ import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.a2a.poc.agents.idea.service.ChatService;
@@ -19,6 +18,7 @@ import io.a2a.receptionist.model.SkillInvocationRequest;
 import io.a2a.receptionist.model.SkillInvocationResponse;
 import io.a2a.spec.TextPart;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -27,10 +27,15 @@ public class PlannerService {
 
     private final ChatService chatClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LenientJsonParser jsonParser = new LenientJsonParser(objectMapper);
 
     @Autowired
     Receptionist receptionist;
 
+    /** Catalog rendering of the planner prompt: COMPACT (tabular, catalog once) or JSON */
+    @Value("${app.orchestration.planner.prompt-format:COMPACT}")
+    private PlannerPromptBuilder.PromptFormat promptFormat = PlannerPromptBuilder.PromptFormat.COMPACT;
+
     public PlannerService(ChatService chatClient) {
         this.chatClient = chatClient;
     }
@@ -39,47 +44,53 @@ public class PlannerService {
             List<A2AReceptionistSkill> catalog,
             double minConfidence) {
 
-        String prompt = PlannerPromptBuilder.build(task, catalog, minConfidence);
+        String prompt = PlannerPromptBuilder.build(task, catalog, minConfidence, promptFormat);
 
         return chatClient.ask(prompt)
-                .map(response -> {
-                    try {
-                        return objectMapper.readValue(response, new TypeReference<Map<String, Object>>() {
-                        });
-                    } catch (JsonProcessingException e) {
-                        return Map.of("raw", response);
-                    }
-                });
+                .map(jsonParser::parseObject);
     }
 
-    public Mono<Map<String, Object>> createIdea(String document) {
+    /**
+     * Extracts title, description, keywords, skills and required tags from a document in one LLM call.
+     */
+    public Mono<Map<String, Object>> extractMetadata(String document) {
 
         String prompt = PlannerPromptBuilder.buildSkillsPrompt(document);
 
         return chatClient.ask(prompt)
-                .map(response -> {
-                    try {
-                        return objectMapper.readValue(response, new TypeReference<Map<String, Object>>() {
-                        });
-                    } catch (JsonProcessingException e) {
-                        return Map.of("raw", response);
-                    }
-                });
+                .map(jsonParser::parseObject);
     }
 
-    public Mono<Map<String, Object>> prepareAgentSkills(String idea) {
+    /**
+     * Streams the planner reply: each selectedSkills element is emitted as soon as it is complete,
+     * the whole plan when the reply ends. Both share one LLM call, started by the first subscriber and
+     * cancelled once no subscriber is left (client gone, deadline passed, plan failed).
+     */
+    public StreamingPlan planStreaming(PlannerPromptBuilder.UserTask task,
+            List<A2AReceptionistSkill> catalog,
+            double minConfidence) {
 
-        String prompt = PlannerPromptBuilder.buildSkillsPrompt(idea);
+        String prompt = PlannerPromptBuilder.build(task, catalog, minConfidence, promptFormat);
+        Flux<String> chunks = chatClient.stream(prompt).replay().refCount(1);
+        // One parser per subscriber: it keeps scanning state across chunks
+        Flux<Map<String, Object>> selectedSkills = Flux.defer(() -> chunks
+                .concatMapIterable(new StreamingPlanParser()::feed))
+                .map(jsonParser::parseObject)
+                // The complete reply is parsed again at the end; such an element just starts late
+                .filter(step -> !step.containsKey("raw"));
+        Mono<Map<String, Object>> plan = chunks
+                .collect(StreamingPlanParser::new, StreamingPlanParser::feed)
+                .map(StreamingPlanParser::json)
+                .map(jsonParser::parseObject);
+        return new StreamingPlan(selectedSkills, plan);
+    }
 
-        return chatClient.ask(prompt)
-                .map(response -> {
-                    try {
-                        return objectMapper.readValue(response, new TypeReference<Map<String, Object>>() {
-                        });
-                    } catch (JsonProcessingException e) {
-                        return Map.of("raw", response);
-                    }
-                });
+    public record StreamingPlan(Flux<Map<String, Object>> selectedSkills, Mono<Map<String, Object>> plan) {
+    }
+
+    /** How often JSON read from LLM output parsed cleanly, needed repair, or could not be read */
+    public Map<String, Object> jsonParseStats() {
+        return jsonParser.stats();
     }
 
     // ****************For future use ********** */
@@ -0,0 +1,117 @@
+package io.a2a.poc.agents.idea.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental scanner for a planner reply arriving in chunks. Each element of the top-level
+ * "selectedSkills" array is returned as raw JSON text as soon as its closing brace arrives, long
+ * before the reply is complete. Text around the top-level object (prose, code fences) is ignored; the
+ * object itself, the first one holding selectedSkills, is kept for parsing once the stream ends. Not
+ * thread-safe: feed one stream from one thread.
+ */
+public class StreamingPlanParser {
+
+    private static final String STEPS_KEY = "selectedSkills";
+
+    private final StringBuilder text = new StringBuilder();
+    private int scanned;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private int stringStart = -1;
+    private String lastString;
+    private String currentKey;
+    // Depth inside the selectedSkills array, -1 until it opens
+    private int stepsDepth = -1;
+    private boolean stepsClosed;
+    private int elementStart = -1;
+    private int topLevelStart = -1;
+    private int objectStart = -1;
+    private int objectEnd = -1;
+    private boolean planFound;
+
+    /**
+     * Appends a chunk and returns the selectedSkills elements completed by it, in order.
+     */
+    public List<String> feed(String chunk) {
+        List<String> completed = new ArrayList<>();
+        if (chunk == null || chunk.isEmpty()) {
+            return completed;
+        }
+        text.append(chunk);
+        for (; scanned < text.length(); scanned++) {
+            char c = text.charAt(scanned);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 1) {
+                        lastString = text.substring(stringStart, scanned);
+                    }
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    stringStart = scanned + 1;
+                }
+                case ':' -> {
+                    if (depth == 1) {
+                        currentKey = lastString;
+                    }
+                }
+                case '{', '[' -> {
+                    if (c == '[' && depth == 1 && stepsDepth < 0 && !stepsClosed && STEPS_KEY.equals(currentKey)) {
+                        stepsDepth = depth + 1;
+                    } else if (c == '{' && depth == stepsDepth) {
+                        elementStart = scanned;
+                    } else if (c == '{' && depth == 0) {
+                        topLevelStart = scanned;
+                    }
+                    depth++;
+                }
+                case '}', ']' -> {
+                    depth = Math.max(0, depth - 1);
+                    if (c == '}' && depth == stepsDepth && elementStart >= 0) {
+                        completed.add(text.substring(elementStart, scanned + 1));
+                        elementStart = -1;
+                    } else if (c == ']' && depth == stepsDepth - 1) {
+                        stepsDepth = -1;
+                        stepsClosed = true;
+                    } else if (c == '}' && depth == 0 && topLevelStart >= 0) {
+                        // Braces in prose before the plan form an object too; the plan replaces it
+                        boolean isPlan = stepsClosed && !planFound;
+                        if (objectEnd < 0 || isPlan) {
+                            objectStart = topLevelStart;
+                            objectEnd = scanned + 1;
+                            planFound = isPlan;
+                        }
+                        topLevelStart = -1;
+                    }
+                }
+                default -> {
+                    // Values and whitespace carry no structure
+                }
+            }
+        }
+        return completed;
+    }
+
+    /** Everything fed so far */
+    public String text() {
+        return text.toString();
+    }
+
+    /**
+     * The top-level JSON object without surrounding prose or code fences; everything fed so far when
+     * no complete object has been seen.
+     */
+    public String json() {
+        return objectEnd > 0 ? text.substring(objectStart, objectEnd) : text();
+    }
+}
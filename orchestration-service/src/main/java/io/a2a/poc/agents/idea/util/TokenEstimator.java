@@ -0,0 +1,78 @@
+package io.a2a.poc.agents.idea.util;
+
+/**
+ * Local, dependency-free approximation of a BPE tokenizer: runs of letters or digits count one token per
+ * four characters (rounded up), every other non-whitespace character is a token of its own. Close enough
+ * to GPT-style tokenizers on English prose and JSON to size prompts without a remote call.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_WORD_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(String text) {
+        return text == null ? 0 : scan(text);
+    }
+
+    /**
+     * Longest prefix of the text whose estimate does not exceed maxTokens.
+     */
+    public static String prefix(String text, int maxTokens) {
+        if (text == null || maxTokens <= 0) {
+            return "";
+        }
+        return text.substring(0, end(text, maxTokens));
+    }
+
+    /**
+     * Longest suffix of the text whose estimate does not exceed maxTokens.
+     */
+    public static String suffix(String text, int maxTokens) {
+        if (text == null || maxTokens <= 0) {
+            return "";
+        }
+        String reversed = new StringBuilder(text).reverse().toString();
+        return text.substring(text.length() - end(reversed, maxTokens));
+    }
+
+    private static int scan(String text) {
+        int tokens = 0;
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (run++ % CHARS_PER_WORD_TOKEN == 0) {
+                    tokens++;
+                }
+            } else {
+                run = 0;
+                if (!Character.isWhitespace(c)) {
+                    tokens++;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /** Index right after the last character that still fits into maxTokens */
+    private static int end(String text, int maxTokens) {
+        int tokens = 0;
+        int run = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean newToken;
+            if (Character.isLetterOrDigit(c)) {
+                newToken = run++ % CHARS_PER_WORD_TOKEN == 0;
+            } else {
+                run = 0;
+                newToken = !Character.isWhitespace(c);
+            }
+            if (newToken && ++tokens > maxTokens) {
+                return i;
+            }
+        }
+        return text.length();
+    }
+}
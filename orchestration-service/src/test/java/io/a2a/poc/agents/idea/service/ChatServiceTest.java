@@ -0,0 +1,127 @@
+package io.a2a.poc.agents.idea.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * ChatService against a model that streams its reply slowly: concurrent planner calls are all in
+ * flight at once without adding threads, and failed calls are retried with exponential backoff.
+ */
+class ChatServiceTest {
+
+    private static final String REPLY = "{\"selectedSkills\":[]}";
+
+    // Background JVM threads (JIT compilers, GC) may come and go while the test runs
+    private static final int THREAD_SLACK = 8;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    void hundredsOfConcurrentCallsDoNotAddThreads() {
+        ChatService chatService = new ChatService(ChatClient.create(model(call -> slowReply())));
+        // Warm up, so schedulers have started all the workers they are going to use
+        askConcurrently(chatService, 500);
+
+        threads.resetPeakThreadCount();
+        askConcurrently(chatService, 10);
+        int baseline = threads.getPeakThreadCount();
+
+        for (int concurrency : new int[] {100, 500, 1000}) {
+            maxInFlight.set(0);
+            threads.resetPeakThreadCount();
+            askConcurrently(chatService, concurrency);
+
+            assertThat(threads.getPeakThreadCount())
+                    .as("peak threads with %d concurrent calls", concurrency)
+                    .isLessThanOrEqualTo(baseline + THREAD_SLACK);
+            assertThat(maxInFlight.get()).isEqualTo(concurrency);
+        }
+    }
+
+    @Test
+    void transientFailuresAreRetriedWithExponentialBackoff() {
+        ChatService chatService = new ChatService(ChatClient.create(model(call -> call < 3
+                ? Flux.error(new TransientAiException("rate limited"))
+                : Flux.just(REPLY))));
+
+        // Defaults: 3 attempts, 2 s before the first retry, 5 times longer before the second
+        StepVerifier.withVirtualTime(() -> chatService.ask("plan"))
+                .expectSubscription()
+                .then(() -> assertThat(calls).hasValue(1))
+                .thenAwait(Duration.ofSeconds(2))
+                .then(() -> assertThat(calls).hasValue(2))
+                .thenAwait(Duration.ofSeconds(9))
+                .then(() -> assertThat(calls).hasValue(2))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(REPLY)
+                .verifyComplete();
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void nonTransientFailuresAreNotRetried() {
+        ChatService chatService = new ChatService(ChatClient.create(model(
+                call -> Flux.error(new NonTransientAiException("invalid request")))));
+
+        StepVerifier.create(chatService.ask("plan"))
+                .expectError(NonTransientAiException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(calls).hasValue(1);
+    }
+
+    private void askConcurrently(ChatService chatService, int concurrency) {
+        List<String> replies = Flux.range(0, concurrency)
+                .flatMap(i -> chatService.ask("plan " + i), concurrency)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertThat(replies).hasSize(concurrency).containsOnly(REPLY);
+    }
+
+    // The reply in three chunks, 100 ms apart, like a model generating it
+    private Flux<String> slowReply() {
+        return Flux.just(REPLY.substring(0, 5), REPLY.substring(5, 10), REPLY.substring(10))
+                .delayElements(Duration.ofMillis(100))
+                .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    // Streams what the function returns for the n-th call (1-based)
+    private ChatModel model(Function<Integer, Flux<String>> reply) {
+        return new ChatModel() {
+            @Override
+            public ChatResponse call(Prompt prompt) {
+                throw new UnsupportedOperationException("Only streaming is used");
+            }
+
+            @Override
+            public Flux<ChatResponse> stream(Prompt prompt) {
+                return Flux.defer(() -> reply.apply(calls.incrementAndGet()))
+                        .map(text -> new ChatResponse(List.of(new Generation(new AssistantMessage(text)))));
+            }
+        };
+    }
+}
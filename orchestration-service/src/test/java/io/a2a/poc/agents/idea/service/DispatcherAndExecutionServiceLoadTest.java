@@ -0,0 +1,132 @@
+package io.a2a.poc.agents.idea.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse;
+import io.a2a.poc.agents.idea.service.model.TaskOrchestrationResponse.SelectedSkill;
+import io.a2a.receptionist.Receptionist;
+import io.a2a.receptionist.model.SkillInvocationResponse;
+import io.a2a.spec.Message;
+import io.a2a.spec.TextPart;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Many concurrent orchestrations against agents that answer after a delay: all their agent calls are
+ * in flight at once, and the thread count stays flat as concurrency grows, since no step holds a
+ * thread while its agent call is outstanding.
+ */
+class DispatcherAndExecutionServiceLoadTest {
+
+    private static final Duration AGENT_LATENCY = Duration.ofMillis(200);
+
+    // Background JVM threads (JIT compilers, GC) may come and go while the test runs
+    private static final int THREAD_SLACK = 8;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private DispatcherAndExecutionService dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        StepScheduler scheduler = new StepScheduler();
+        ReflectionTestUtils.setField(scheduler, "maxConcurrentSteps", 100_000);
+
+        AgentBulkheads bulkheads = new AgentBulkheads();
+        ReflectionTestUtils.setField(bulkheads, "agentMaxConcurrent", 100_000);
+
+        // Every orchestration must reach the agent
+        StepResultCache cache = new StepResultCache();
+        ReflectionTestUtils.setField(cache, "enabled", false);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+
+        ExecutionJournal journal = new ExecutionJournal();
+        ReflectionTestUtils.setField(journal, "enabled", false);
+
+        SkillLatencyTracker latency = new SkillLatencyTracker();
+        AgentCircuitBreakers breakers = new AgentCircuitBreakers();
+        dispatcher = new DispatcherAndExecutionService(scheduler, latency, bulkheads, cache,
+                new OrchestrationEventPublisher(), journal, new SkillReplicaRegistry(), new SkillHedging(latency),
+                new StepTimeoutPolicy(latency), breakers, new AgentHealthTracker(breakers),
+                new ContextCompactor(new ChatService(null)));
+        dispatcher.receptionist = delayedReceptionist();
+    }
+
+    @Test
+    void threadCountStaysFlatAsConcurrentOrchestrationsGrow() {
+        // Warm up, so schedulers have started all the workers they are going to use
+        runOrchestrations(1000);
+
+        int baseline = peakThreadsDuring(10);
+        for (int concurrency : new int[] {100, 1000, 2000}) {
+            maxInFlight.set(0);
+            assertThat(peakThreadsDuring(concurrency))
+                    .as("peak threads with %d concurrent orchestrations", concurrency)
+                    .isLessThanOrEqualTo(baseline + THREAD_SLACK);
+            // The first step of every orchestration was waiting on its agent at the same time
+            assertThat(maxInFlight.get()).isGreaterThanOrEqualTo(concurrency);
+        }
+    }
+
+    private int peakThreadsDuring(int concurrency) {
+        threads.resetPeakThreadCount();
+        runOrchestrations(concurrency);
+        return threads.getPeakThreadCount();
+    }
+
+    private void runOrchestrations(int concurrency) {
+        List<String> results = Flux.range(0, concurrency)
+                .flatMap(i -> dispatcher.dispatchAndExecuteTask(plan(i)), concurrency)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertThat(results).hasSize(concurrency).allSatisfy(result -> assertThat(result).contains("done"));
+    }
+
+    // A diamond: research, then two reviews in parallel, then a summary of both
+    private static TaskOrchestrationResponse plan(int orchestration) {
+        return new TaskOrchestrationResponse("load-" + orchestration, TaskOrchestrationResponse.ExecutionMode.PARALLEL,
+                List.of(step(orchestration, "research"),
+                        step(orchestration, "review", "research"),
+                        step(orchestration, "risk", "research"),
+                        step(orchestration, "summary", "review", "risk")),
+                null, null);
+    }
+
+    private static SelectedSkill step(int orchestration, String stepId, String... dependsOn) {
+        return new SelectedSkill(stepId, "LoadAgent", null, stepId, 0.9, 1, 30, null,
+                Map.of("idea", "idea " + orchestration), List.of(dependsOn));
+    }
+
+    private Receptionist delayedReceptionist() {
+        Message message = mock(Message.class);
+        doReturn(List.of(new TextPart("done"))).when(message).getParts();
+        SkillInvocationResponse response = mock(SkillInvocationResponse.class);
+        when(response.getResult()).thenReturn(message);
+
+        Receptionist receptionist = mock(Receptionist.class);
+        when(receptionist.invokeAgentSkill(any()))
+                .thenAnswer(invocation -> Mono.delay(AGENT_LATENCY).thenReturn(response)
+                        .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .doFinally(signal -> inFlight.decrementAndGet()));
+        return receptionist;
+    }
+}
@@ -0,0 +1,95 @@
+package io.a2a.poc.agents.idea.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.a2a.poc.agents.idea.util.PlannerService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The extraction pass runs once per document content: resubmissions are served from the cache and
+ * concurrent submissions of the same document share one LLM call.
+ */
+class MetadataExtractionServiceTest {
+
+    private static final String BILL = "An act to regulate instant payments between retail accounts";
+
+    private static final Map<String, Object> METADATA = Map.of(
+            "title", "Instant payments",
+            "keywords", List.of("payments"),
+            "requiredTags", List.of("skill:create-product-idea"));
+
+    private final AtomicInteger extractions = new AtomicInteger();
+
+    @Test
+    void resubmittedDocumentIsServedFromTheCache() {
+        MetadataExtractionService service = service(() -> Mono.just(METADATA));
+
+        assertThat(service.extract(BILL, "first").block()).isEqualTo(METADATA);
+        assertThat(service.extract(BILL, "second").block()).isEqualTo(METADATA);
+        assertThat(extractions.get()).isEqualTo(1);
+
+        service.extract(BILL + " (amended)", "third").block();
+        assertThat(extractions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentSubmissionsShareOneExtraction() {
+        MetadataExtractionService service = service(
+                () -> Mono.delay(Duration.ofMillis(200)).thenReturn(METADATA));
+
+        List<Map<String, Object>> results = Flux.range(0, 20)
+                .flatMap(i -> service.extract(BILL, "concurrent-" + i))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(20).containsOnly(METADATA);
+        assertThat(extractions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void unparsedRepliesAreNotCached() {
+        MetadataExtractionService service = service(() -> Mono.just(Map.of("raw", "not json")));
+
+        service.extract(BILL, "first").block();
+        service.extract(BILL, "second").block();
+
+        assertThat(extractions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void disabledCacheExtractsEveryTime() {
+        MetadataExtractionService service = service(() -> Mono.just(METADATA));
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        service.extract(BILL, "first").block();
+        service.extract(BILL, "second").block();
+
+        assertThat(extractions.get()).isEqualTo(2);
+    }
+
+    // Counts the extraction calls that are actually subscribed to, i.e. reach the LLM
+    private MetadataExtractionService service(Supplier<Mono<Map<String, Object>>> reply) {
+        PlannerService planner = new PlannerService(null) {
+            @Override
+            public Mono<Map<String, Object>> extractMetadata(String document) {
+                return Mono.defer(() -> {
+                    extractions.incrementAndGet();
+                    return reply.get();
+                });
+            }
+        };
+        MetadataExtractionService service = new MetadataExtractionService(planner);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
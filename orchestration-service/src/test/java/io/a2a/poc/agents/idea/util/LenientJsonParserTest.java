@@ -0,0 +1,124 @@
+package io.a2a.poc.agents.idea.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The malformations LLM replies actually show, each repaired into the object the model meant; valid
+ * JSON goes through untouched.
+ */
+class LenientJsonParserTest {
+
+    private final LenientJsonParser parser = new LenientJsonParser(new ObjectMapper());
+
+    @Test
+    void validJsonIsLeftByteIdentical() {
+        String compact = "{\"a\":1,\"b\":[true,false,null],\"c\":{\"d\":\"x, y\"},\"e\":-2.5e3}";
+        String pretty = """
+                {
+                  "taskId": "t-1",
+                  "selectedSkills": [ { "stepId": "s1", "confidence": 0.83, "dependsOn": [] } ],
+                  "reason": ""
+                }""";
+
+        assertThat(LenientJsonParser.repair(compact)).isEqualTo(compact);
+        assertThat(LenientJsonParser.repair(pretty)).isEqualTo(pretty);
+        assertThat(parser.parseObject(compact)).containsEntry("c", Map.of("d", "x, y"));
+        assertThat(parser.stats()).containsEntry("clean", 1L).containsEntry("repaired", 0L);
+    }
+
+    @Test
+    void codeFencesAndProseAroundTheObjectAreDropped() {
+        Map<String, Object> parsed = parser.parseObject(
+                "Sure! Here is the plan:\n```json\n{\"taskId\": \"t-1\", \"selectedSkills\": []}\n```\nAnything else?");
+
+        assertThat(parsed).isEqualTo(Map.of("taskId", "t-1", "selectedSkills", List.of()));
+        assertThat(parser.stats()).containsEntry("repaired", 1L);
+    }
+
+    @Test
+    void commentsAreDroppedButSlashesInStringsAreKept() {
+        Map<String, Object> parsed = parser.parseObject("""
+                {
+                  "agentUrl": "http://localhost:8081", // copied from the catalog
+                  /* the schema says
+                     input MUST NOT be empty */
+                  "input": { "key": "a // b /* c */" }
+                }""");
+
+        assertThat(parsed).isEqualTo(Map.of(
+                "agentUrl", "http://localhost:8081",
+                "input", Map.of("key", "a // b /* c */")));
+    }
+
+    @Test
+    void trailingCommasAreDropped() {
+        assertThat(parser.parseObject("{\"a\": [1, 2, ], \"b\": {\"c\": 3, }, }"))
+                .isEqualTo(Map.of("a", List.of(1, 2), "b", Map.of("c", 3)));
+    }
+
+    @Test
+    void missingCommasAfterEveryKindOfValueAreInserted() {
+        Map<String, Object> parsed = parser.parseObject("""
+                {
+                  "string": "x"
+                  "true": true
+                  "false": false
+                  "null": null
+                  "number": 12
+                  "object": {}
+                  "array": [1 2
+                            3]
+                  "last": 0
+                }""");
+
+        assertThat(parsed).hasSize(8);
+        assertThat(parsed).containsEntry("true", true).containsEntry("false", false).containsEntry("null", null)
+                .containsEntry("number", 12).containsEntry("array", List.of(1, 2, 3)).containsEntry("last", 0);
+    }
+
+    @Test
+    void strayQuoteBeforeAClosingBracketIsDropped() {
+        // The extraction prompt's own example ends its object like this
+        Map<String, Object> parsed = parser.parseObject("""
+                {
+                   "title" : "Instant payments",
+                   "requiredTags" : ["skill:create-product-idea"]
+                   "
+                }""");
+
+        assertThat(parsed).isEqualTo(Map.of(
+                "title", "Instant payments",
+                "requiredTags", List.of("skill:create-product-idea")));
+    }
+
+    @Test
+    void rawLineBreaksInsideStringsAreEscaped() {
+        assertThat(parser.parseObject("{\"description\": \"first line\nsecond\tline\"}"))
+                .containsEntry("description", "first line\nsecond\tline");
+    }
+
+    @Test
+    void truncatedRepliesAreClosed() {
+        assertThat(parser.parseObject("{\"taskId\": \"t-1\", \"reason\": \"cut off mid"))
+                .isEqualTo(Map.of("taskId", "t-1", "reason", "cut off mid"));
+        assertThat(parser.parseObject("{\"selectedSkills\": [{\"stepId\": \"s1\", \"dependsOn\": [\"s0\","))
+                .isEqualTo(Map.of("selectedSkills", List.of(Map.of("stepId", "s1", "dependsOn", List.of("s0")))));
+        assertThat(parser.parseObject("{\"a\": 1, \"b\":")).hasSize(2).containsEntry("a", 1).containsEntry("b", null);
+        assertThat(parser.parseObject("{\"path\": \"C:\\")).containsEntry("path", "C:");
+    }
+
+    @Test
+    void textWithoutAnObjectIsReturnedRaw() {
+        assertThat(parser.parseObject("I could not find a suitable skill.")).isEqualTo(
+                Map.of("raw", "I could not find a suitable skill."));
+        assertThat(parser.parseObject(null)).isEqualTo(Map.of("raw", ""));
+        assertThat(parser.stats()).containsEntry("failed", 2L);
+    }
+}
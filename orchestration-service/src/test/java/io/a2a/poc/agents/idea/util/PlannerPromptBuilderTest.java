@@ -0,0 +1,122 @@
+package io.a2a.poc.agents.idea.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator.A2AReceptionistSkill;
+import io.a2a.poc.agents.idea.util.PlannerPromptBuilder.UserTask;
+
+/**
+ * The compact planner prompt: a fraction of the JSON prompt's size, and a legend plus skill rows from
+ * which the planner can recover every catalog entry it may choose.
+ */
+class PlannerPromptBuilderTest {
+
+    private static final String AGENTS_HEADER = "Agents (key=agentName@agentUrl):";
+    private static final String SKILLS_HEADER = "Skills, best first";
+
+    private static final UserTask TASK = new UserTask(
+            "Draft a new retail savings product from fresh legislation",
+            "Analyze the new consumer credit amendment 2025 and propose a product idea suitable for millennials.",
+            Map.of("country", "PL", "segment", "millennials"));
+
+    @Test
+    void compactPromptIsLessThanHalfTheJsonPrompt() {
+        for (int size : new int[] {5, 50, 500}) {
+            List<A2AReceptionistSkill> catalog = catalog(size);
+            String json = PlannerPromptBuilder.build(TASK, catalog, 0.7);
+            String compact = PlannerPromptBuilder.buildCompact(TASK, catalog, 0.7);
+
+            assertThat(compact.length()).as("characters with %d skills", size).isLessThan(json.length() / 2);
+            assertThat(TokenEstimator.estimate(compact)).as("tokens with %d skills", size)
+                    .isLessThan(TokenEstimator.estimate(json) / 2);
+        }
+    }
+
+    @Test
+    void everySkillRowExpandsBackToItsCatalogEntry() {
+        List<A2AReceptionistSkill> catalog = catalog(12);
+        String prompt = PlannerPromptBuilder.buildCompact(TASK, catalog, 0.7);
+
+        Map<String, String> legend = new LinkedHashMap<>();
+        for (String line : section(prompt, AGENTS_HEADER)) {
+            String[] entry = line.split("=", 2);
+            legend.put(entry[0], entry[1]);
+        }
+        List<String> rows = section(prompt, SKILLS_HEADER);
+
+        assertThat(rows).hasSize(catalog.size());
+        for (int i = 0; i < rows.size(); i++) {
+            A2AReceptionistSkill skill = catalog.get(i);
+            String[] columns = rows.get(i).split("\\|", -1);
+            assertThat(columns.length).isEqualTo(4);
+            assertThat(columns[0]).isEqualTo(skill.skillId());
+            assertThat(legend.get(columns[1])).isEqualTo(skill.agentName() + "@" + skill.agentUrl());
+            assertThat(columns[2]).isEqualTo(String.format(Locale.ROOT, "%.2f", skill.confidence()));
+            assertThat(columns[3]).isEqualTo(skill.skillDescription());
+        }
+    }
+
+    @Test
+    void eachAgentIsListedOnceUnderAShortKey() {
+        String prompt = PlannerPromptBuilder.buildCompact(TASK, catalog(12), 0.7);
+
+        // 12 skills, 5 per agent
+        assertThat(section(prompt, AGENTS_HEADER)).containsExactly(
+                "A1=Agent0@http://localhost:8081",
+                "A2=Agent1@http://localhost:8082",
+                "A3=Agent2@http://localhost:8083");
+        assertThat(section(prompt, SKILLS_HEADER).get(5)).startsWith("skill-5|A2|");
+    }
+
+    @Test
+    void separatorsAndLineBreaksCannotSplitARow() {
+        A2AReceptionistSkill skill = new A2AReceptionistSkill("risk|score", "RiskAgent", "http://localhost:8085",
+                "Scores legal | political risk\nwith likelihood ×  impact\r\n", 0.731, "risk|score");
+
+        List<String> rows = section(PlannerPromptBuilder.buildCompact(TASK, List.of(skill), 0.7), SKILLS_HEADER);
+
+        assertThat(rows).containsExactly("risk/score|A1|0.73|Scores legal / political risk with likelihood × impact");
+    }
+
+    @Test
+    void taskAndThresholdAreRendered() {
+        String prompt = PlannerPromptBuilder.buildCompact(TASK, catalog(1), 0.65);
+
+        assertThat(prompt).contains("\"title\":\"Draft a new retail savings product from fresh legislation\"",
+                "minimum confidence threshold: 0.65").doesNotContain("{{");
+    }
+
+    // Five skills per agent, as most agents in this deployment advertise
+    private static List<A2AReceptionistSkill> catalog(int size) {
+        List<A2AReceptionistSkill> catalog = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int agent = i / 5;
+            catalog.add(new A2AReceptionistSkill("skill-" + i, "Agent" + agent, "http://localhost:" + (8081 + agent),
+                    "Uses AI to analyze legislation aspect " + i + " and identify banking product opportunities",
+                    0.5 + (i % 50) / 100.0, "skill-" + i));
+        }
+        return catalog;
+    }
+
+    // The lines after the header line starting with the given text, up to the next blank line
+    private static List<String> section(String prompt, String header) {
+        List<String> lines = prompt.lines().toList();
+        int start = 0;
+        while (!lines.get(start).startsWith(header)) {
+            start++;
+        }
+        List<String> section = new ArrayList<>();
+        for (int i = start + 1; i < lines.size() && !lines.get(i).isBlank(); i++) {
+            section.add(lines.get(i));
+        }
+        return section;
+    }
+}
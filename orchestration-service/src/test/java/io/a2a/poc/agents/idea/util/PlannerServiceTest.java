@@ -0,0 +1,91 @@
+package io.a2a.poc.agents.idea.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.a2a.poc.agents.idea.service.ChatService;
+import io.a2a.poc.agents.idea.service.ProductIdeaWorkflowOrchestrator.A2AReceptionistSkill;
+import io.a2a.poc.agents.idea.util.PlannerPromptBuilder.UserTask;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The streaming planner against a reply pushed chunk by chunk: steps without dependencies are
+ * available while the model is still writing, and steps and plan share one LLM call that is cancelled
+ * once neither is wanted any more.
+ */
+class PlannerServiceTest {
+
+    private static final UserTask TASK = new UserTask("Draft a product", "Instant payments act", Map.of());
+
+    private static final List<A2AReceptionistSkill> CATALOG = List.of(new A2AReceptionistSkill(
+            "analyze-legislation", "IdeaCreatorAgent", "http://localhost:8081", "Analyzes legislation", 0.83,
+            "analyze-legislation"));
+
+    private final Sinks.Many<String> reply = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    private final PlannerService planner = new PlannerService(new ChatService(null) {
+        @Override
+        public Flux<String> stream(String prompt) {
+            return Flux.defer(() -> {
+                calls.incrementAndGet();
+                return reply.asFlux();
+            }).doOnCancel(() -> cancelled.set(true));
+        }
+    });
+
+    @Test
+    void rootStepsArriveBeforeTheReplyIsComplete() {
+        PlannerService.StreamingPlan stream = planner.planStreaming(TASK, CATALOG, 0.5);
+        List<Map<String, Object>> steps = new CopyOnWriteArrayList<>();
+        List<Map<String, Object>> plans = new CopyOnWriteArrayList<>();
+        stream.selectedSkills().subscribe(steps::add);
+        stream.plan().subscribe(plans::add);
+
+        reply.tryEmitNext("```json\n{\"taskId\":\"t\",\"executionMode\":\"parallel\",\"selectedSkills\":[");
+        reply.tryEmitNext("{\"stepId\":\"s1\",\"skillId\":\"analyze-legislation\",\"input\":{\"legislation\":\"a\"},");
+        assertThat(steps).isEmpty();
+
+        reply.tryEmitNext("\"dependsOn\":[]},{\"stepId\":\"s2\",\"skillId\":\"analyze-legislation\",");
+        // The first step is complete while the model is still writing the second
+        assertThat(steps).hasSize(1);
+        assertThat(steps.get(0)).containsEntry("stepId", "s1");
+        assertThat(plans).isEmpty();
+
+        reply.tryEmitNext("\"input\":{\"legislation\":\"b\"},\"dependsOn\":[\"s1\"]}],\"reason\":\"\"}\n```");
+        reply.tryEmitComplete();
+
+        assertThat(steps).hasSize(2);
+        assertThat(plans).hasSize(1);
+        assertThat((List<?>) plans.get(0).get("selectedSkills")).hasSize(2);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void theCallIsCancelledOnlyWhenStepsAndPlanAreBothCancelled() {
+        PlannerService.StreamingPlan stream = planner.planStreaming(TASK, CATALOG, 0.5);
+        assertThat(calls.get()).isEqualTo(0);
+
+        Disposable steps = stream.selectedSkills().subscribe();
+        Disposable plan = stream.plan().subscribe();
+        reply.tryEmitNext("{\"taskId\":\"t\",\"selectedSkills\":[");
+        assertThat(calls.get()).isEqualTo(1);
+
+        steps.dispose();
+        assertThat(cancelled.get()).isFalse();
+
+        plan.dispose();
+        assertThat(cancelled.get()).isTrue();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+package io.a2a.poc.agents.idea.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plan steps are cut out of the planner reply as soon as they are complete, however the reply is
+ * split into chunks and whatever the strings inside a step contain.
+ */
+class StreamingPlanParserTest {
+
+    private static final String STEP_1 = "{\"stepId\":\"s1\",\"skillId\":\"analyze-legislation\","
+            + "\"input\":{\"legislation\":\"Art. 5 {draft} [v2]: \\\"instant\\\" payments\"},\"dependsOn\":[]}";
+    private static final String STEP_2 = "{\"stepId\":\"s2\",\"skillId\":\"create-product-idea\","
+            + "\"input\":{\"opportunity\":\"ends with a backslash \\\\\"},\"dependsOn\":[\"s1\"]}";
+    private static final String STEP_3 = "{\"stepId\":\"s3\",\"skillId\":\"risk\","
+            + "\"input\":{\"note\":\"}]} looks like the end\",\"selectedSkills\":[{\"nested\":true}]},\"dependsOn\":[]}";
+
+    private static final String PLAN = "{\"taskId\":\"t-1\",\"executionMode\":\"parallel\",\"selectedSkills\":["
+            + STEP_1 + ",\n  " + STEP_2 + "," + STEP_3 + "],\"reason\":\"\"}";
+
+    @Test
+    void wholeReplyYieldsEveryStepVerbatim() {
+        assertThat(new StreamingPlanParser().feed(PLAN)).containsExactly(STEP_1, STEP_2, STEP_3);
+    }
+
+    @Test
+    void aStepIsReturnedByTheChunkWithItsClosingBrace() {
+        StreamingPlanParser parser = new StreamingPlanParser();
+        int step1End = PLAN.indexOf(STEP_1) + STEP_1.length();
+
+        assertThat(parser.feed(PLAN.substring(0, step1End - 1))).isEmpty();
+        assertThat(parser.feed(PLAN.substring(step1End - 1, step1End))).containsExactly(STEP_1);
+        assertThat(parser.feed(PLAN.substring(step1End))).containsExactly(STEP_2, STEP_3);
+    }
+
+    @Test
+    void tokensAndStringsSplitAcrossChunksAreReassembled() {
+        // Every split point, including inside keys, escapes and the selectedSkills key itself
+        for (int split = 1; split < PLAN.length(); split++) {
+            StreamingPlanParser parser = new StreamingPlanParser();
+            List<String> steps = new ArrayList<>(parser.feed(PLAN.substring(0, split)));
+            steps.addAll(parser.feed(PLAN.substring(split)));
+
+            assertThat(steps).as("split at %d", split).containsExactly(STEP_1, STEP_2, STEP_3);
+        }
+    }
+
+    @Test
+    void oneCharacterChunksYieldTheSameSteps() {
+        StreamingPlanParser parser = new StreamingPlanParser();
+        List<String> steps = new ArrayList<>();
+        for (char c : PLAN.toCharArray()) {
+            steps.addAll(parser.feed(String.valueOf(c)));
+        }
+
+        assertThat(steps).containsExactly(STEP_1, STEP_2, STEP_3);
+    }
+
+    @Test
+    void proseAndCodeFencesAroundThePlanAreIgnored() {
+        StreamingPlanParser parser = new StreamingPlanParser();
+        List<String> steps = new ArrayList<>(parser.feed("Here is the plan {as requested}:\n```json\n"));
+        steps.addAll(parser.feed(PLAN));
+        steps.addAll(parser.feed("\n```\nLet me know [if] anything changes."));
+
+        assertThat(steps).containsExactly(STEP_1, STEP_2, STEP_3);
+        assertThat(parser.json()).isEqualTo(PLAN);
+    }
+
+    @Test
+    void incompleteReplyKeepsEverythingFed() {
+        StreamingPlanParser parser = new StreamingPlanParser();
+        String truncated = PLAN.substring(0, PLAN.indexOf(STEP_2) + 10);
+
+        assertThat(parser.feed(truncated)).containsExactly(STEP_1);
+        assertThat(parser.json()).isEqualTo(truncated);
+        assertThat(parser.feed(null)).isEmpty();
+        assertThat(parser.feed("")).isEmpty();
+    }
+}
@@ -0,0 +1,56 @@
+package io.a2a.poc.agents.idea.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Token counts of the local estimator, and the prefixes and suffixes cut to a token budget.
+ */
+class TokenEstimatorTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "hello, world!",
+            "{\"stepId\": \"s1\", \"dependsOn\": [\"research\", \"review\"]}",
+            "Article 12: payment service providers shall settle instant transfers within 10 seconds.\n");
+
+    @Test
+    void wordRunsCountOneTokenPerFourCharacters() {
+        assertThat(TokenEstimator.estimate("abcd")).isEqualTo(1);
+        assertThat(TokenEstimator.estimate("abcde")).isEqualTo(2);
+        assertThat(TokenEstimator.estimate("12345678")).isEqualTo(2);
+    }
+
+    @Test
+    void punctuationCountsAndWhitespaceDoesNot() {
+        assertThat(TokenEstimator.estimate("hello, world!")).isEqualTo(6);
+        assertThat(TokenEstimator.estimate("{\"a\":1}")).isEqualTo(7);
+        assertThat(TokenEstimator.estimate(" \t\n ")).isEqualTo(0);
+        assertThat(TokenEstimator.estimate("")).isEqualTo(0);
+        assertThat(TokenEstimator.estimate(null)).isEqualTo(0);
+    }
+
+    @Test
+    void prefixAndSuffixStopAtTheBudget() {
+        assertThat(TokenEstimator.prefix("hello, world!", 3)).isEqualTo("hello, ");
+        assertThat(TokenEstimator.suffix("hello, world!", 3)).isEqualTo(" world!");
+        assertThat(TokenEstimator.prefix("hello, world!", 0)).isEqualTo("");
+        assertThat(TokenEstimator.suffix("hello, world!", -1)).isEqualTo("");
+        assertThat(TokenEstimator.prefix(null, 10)).isEqualTo("");
+    }
+
+    @Test
+    void cutsNeverExceedTheBudgetAndAFullBudgetKeepsTheText() {
+        for (String text : SAMPLES) {
+            int total = TokenEstimator.estimate(text);
+            for (int budget = 0; budget <= total; budget++) {
+                assertThat(TokenEstimator.estimate(TokenEstimator.prefix(text, budget))).isLessThanOrEqualTo(budget);
+                assertThat(TokenEstimator.estimate(TokenEstimator.suffix(text, budget))).isLessThanOrEqualTo(budget);
+            }
+            assertThat(TokenEstimator.prefix(text, total)).isEqualTo(text);
+            assertThat(TokenEstimator.suffix(text, total)).isEqualTo(text);
+        }
+    }
+}
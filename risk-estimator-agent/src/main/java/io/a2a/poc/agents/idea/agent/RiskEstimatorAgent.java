@@ -1,5 +1,6 @@
 package io.a2a.poc.agents.idea.agent;
 
+import io.a2a.poc.agents.idea.util.SkillDeadline;
 import io.a2a.receptionist.model.A2AAgent;
 import io.a2a.receptionist.model.A2AAgentSkill;
 import org.springframework.ai.chat.client.ChatClient;
@@ -26,8 +27,9 @@ public class RiskEstimatorAgent {
                     "Assess all risks for new digital payment product",
                     "Evaluate comprehensive risk profile for lending service" }, inputModes = {
                             "text" }, outputModes = { "text" })
-    public java.util.concurrent.CompletableFuture<String> assessComprehensiveRisk(String productDescription) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> assessComprehensiveRisk(String productDescriptionInput) {
+        String productDescription = SkillDeadline.strip(productDescriptionInput);
+        return SkillDeadline.supplyAsync(productDescriptionInput, () -> {
             try {
                 log.info("Performing comprehensive risk assessment with AI for: {}",
                         productDescription.substring(0, Math.min(100, productDescription.length())));
@@ -97,8 +99,9 @@ public class RiskEstimatorAgent {
             "compliance", "ai-analysis", "regulatory", "FIBO" }, examples = {
                     "Assess Basel III compliance requirements",
                     "Evaluate GDPR compliance risks" }, inputModes = { "text" }, outputModes = { "text" })
-    public java.util.concurrent.CompletableFuture<String> assessRegulatoryCompliance(String productDescription) {
-        return java.util.concurrent.CompletableFuture.supplyAsync(() -> {
+    public java.util.concurrent.CompletableFuture<String> assessRegulatoryCompliance(String productDescriptionInput) {
+        String productDescription = SkillDeadline.strip(productDescriptionInput);
+        return SkillDeadline.supplyAsync(productDescriptionInput, () -> {
             try {
                 log.info("Assessing regulatory compliance with AI for: {}",
                         productDescription.substring(0, Math.min(100, productDescription.length())));
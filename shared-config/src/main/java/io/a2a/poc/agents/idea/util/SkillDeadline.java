@@ -0,0 +1,93 @@
+package io.a2a.poc.agents.idea.util;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The orchestration deadline as it travels in a skill's input. The receptionist runtime hands a skill
+ * only its inputs, mapped onto the method parameters, so the orchestrator prefixes the first input
+ * with a deadline line. Agents strip the line before prompting, skip LLM work once the deadline has
+ * passed and stop waiting for a reply still running at the deadline.
+ */
+public final class SkillDeadline {
+
+    private static final Pattern DEADLINE_LINE = Pattern.compile("\\A\\[deadline-epoch-ms: (\\d+)]\\R?");
+
+    private SkillDeadline() {
+    }
+
+    /** The input with the deadline line in front */
+    public static String attach(String input, long deadlineEpochMs) {
+        return String.format("[deadline-epoch-ms: %d]%n%s", deadlineEpochMs, input == null ? "" : input);
+    }
+
+    public static Optional<Long> deadline(String input) {
+        if (input == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = DEADLINE_LINE.matcher(input);
+        return matcher.find() ? Optional.of(Long.parseLong(matcher.group(1))) : Optional.empty();
+    }
+
+    /** The input as the caller wrote it, without the deadline line */
+    public static String strip(String input) {
+        return input == null ? null : DEADLINE_LINE.matcher(input).replaceFirst("");
+    }
+
+    /**
+     * Runs the blocking LLM work asynchronously unless the deadline carried in the input has passed;
+     * the returned future fails with {@link DeadlineExceededException} when it passes first.
+     */
+    public static CompletableFuture<String> supplyAsync(String input, Supplier<String> work) {
+        Optional<Long> deadline = deadline(input);
+        if (deadline.isEmpty()) {
+            return CompletableFuture.supplyAsync(work);
+        }
+        long remainingMs = deadline.get() - System.currentTimeMillis();
+        if (remainingMs <= 0) {
+            return CompletableFuture.failedFuture(expired());
+        }
+        return CompletableFuture.supplyAsync(work)
+                .orTimeout(remainingMs, TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    if (error instanceof TimeoutException) {
+                        throw expired();
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                });
+    }
+
+    /**
+     * The same rules for skills answering with a Mono: not subscribed past the deadline, cut off at it.
+     */
+    public static Mono<String> bound(String input, Mono<String> work) {
+        return deadline(input)
+                .map(deadline -> Mono.defer(() -> {
+                    long remainingMs = deadline - System.currentTimeMillis();
+                    if (remainingMs <= 0) {
+                        return Mono.<String>error(expired());
+                    }
+                    return work.timeout(Duration.ofMillis(remainingMs), Mono.error(SkillDeadline::expired));
+                }))
+                .orElse(work);
+    }
+
+    private static DeadlineExceededException expired() {
+        return new DeadlineExceededException("Orchestration deadline passed, skill answer abandoned");
+    }
+
+    public static class DeadlineExceededException extends RuntimeException {
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+}